@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic entities for the benchmarks. With ids = false they are left transient so they can be saved
+ * through the repositories; bookings of an item never overlap.
+ */
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static List<User> users(int count, boolean ids) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new User(ids ? (long) i + 1 : null, "user" + i, "user" + i + "@bench.ru"));
+        }
+        return users;
+    }
+
+    static List<ItemRequest> requests(List<User> requestors, boolean ids) {
+        List<ItemRequest> requests = new ArrayList<>(requestors.size());
+        for (int i = 0; i < requestors.size(); i++) {
+            requests.add(new ItemRequest(ids ? (long) i + 1 : null, "need thing " + i, requestors.get(i),
+                    NOW.minusDays(i % 30)));
+        }
+        return requests;
+    }
+
+    static List<Item> items(List<User> owners, int perOwner, List<ItemRequest> requests, boolean ids) {
+        List<Item> items = new ArrayList<>(owners.size() * perOwner);
+        for (User owner : owners) {
+            for (int i = 0; i < perOwner; i++) {
+                int n = items.size();
+                ItemRequest request = i == 0 && !requests.isEmpty() ? requests.get(n % requests.size()) : null;
+                items.add(new Item(ids ? (long) n + 1 : null, "thing " + n, "useful thing number " + n, true,
+                        owner, request));
+            }
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, List<User> bookers, int perItem, boolean ids) {
+        List<Booking> bookings = new ArrayList<>(items.size() * perItem);
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            for (int j = 0; j < perItem; j++) {
+                int n = bookings.size();
+                LocalDateTime start = NOW.plusDays(3L * (j - perItem / 2));
+                User booker = bookers.get((i + j + 1) % bookers.size());
+                BookingState status = j % 3 == 2 ? BookingState.WAITING : BookingState.APPROVED;
+                bookings.add(new Booking(ids ? (long) n + 1 : null, start, start.plusDays(2), item, booker, status,
+                        item.getOwner().getId(), 0));
+            }
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Booking> bookings, int every, boolean ids) {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i += every) {
+            Booking booking = bookings.get(i);
+            comments.add(new Comment(ids ? (long) comments.size() + 1 : null, "nice thing!", booking.getBooker(),
+                    booking.getItem(), NOW));
+        }
+        return comments;
+    }
+}
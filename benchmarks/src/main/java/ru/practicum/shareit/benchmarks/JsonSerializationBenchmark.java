@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the largest response DTOs with an ObjectMapper configured the way Spring Boot does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"2", "20", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ItemInfoDto itemInfoDto;
+    private List<BookingUpdateDto> bookingUpdateDtos;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<User> users = Fixtures.users(size + 1, true);
+        List<Item> items = Fixtures.items(users.subList(0, 1), 1, List.of(), true);
+        List<Booking> bookings = Fixtures.bookings(items, users.subList(1, users.size()), size, true);
+        itemInfoDto = ItemMapper.toItemInfoDto(items.get(0), bookings.subList(0, 2),
+                Fixtures.comments(bookings, 1, true));
+        bookingUpdateDtos = BookingMapper.bookingUpdateDtoList(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemInfoDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemInfoDto);
+    }
+
+    @Benchmark
+    public byte[] bookingUpdateDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingUpdateDtos);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.PageRequestFrom;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mappers and PageRequestFrom, which run on every request. size is the number of
+ * bookings, comments and users mapped per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"2", "20", "200"})
+    public int size;
+
+    private Item item;
+    private List<Booking> itemBookings;
+    private List<Comment> comments;
+    private List<Booking> bookings;
+    private List<User> users;
+    private Sort sort;
+
+    @Setup
+    public void setup() {
+        users = Fixtures.users(size + 1, true);
+        List<Item> items = Fixtures.items(users.subList(0, 1), 1, List.of(), true);
+        item = items.get(0);
+        bookings = Fixtures.bookings(items, users.subList(1, users.size()), size, true);
+        itemBookings = bookings.subList(0, 2);
+        comments = Fixtures.comments(bookings, 1, true);
+        sort = Sort.by("start").descending();
+    }
+
+    @Benchmark
+    public ItemInfoDto itemToItemInfoDto() {
+        return ItemMapper.toItemInfoDto(item, itemBookings, comments);
+    }
+
+    @Benchmark
+    public List<BookingUpdateDto> bookingUpdateDtoList() {
+        return BookingMapper.bookingUpdateDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<UserDto> usersToUsersDto() {
+        return UserMapper.toUsersDto(users);
+    }
+
+    @Benchmark
+    public PageRequest pageRequestFrom() {
+        return new PageRequestFrom(size, size * 3, sort);
+    }
+}
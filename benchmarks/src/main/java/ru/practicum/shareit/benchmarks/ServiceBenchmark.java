@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.PageRequestFrom;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingSearchState;
+import ru.practicum.shareit.booking.dto.BookingUpdateDto;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestResponsesDto;
+import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
+import ru.practicum.shareit.request.interfaces.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-side service methods against the server context on an in-memory H2 database (ci profile).
+ * The dataset has users users with itemsPerUser items each; every item has 4 bookings and every second
+ * booking a comment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "1000"})
+    public int users;
+
+    @Param({"5"})
+    public int itemsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService itemRequestService;
+
+    private List<User> savedUsers;
+    private List<Item> savedItems;
+    private PageRequest itemPage;
+    private PageRequest bookingPage;
+    private PageRequest requestPage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks",
+                        "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+
+        savedUsers = context.getBean(UserRepository.class).saveAll(Fixtures.users(users, false));
+        List<ItemRequest> requests = context.getBean(ItemRequestRepository.class)
+                .saveAll(Fixtures.requests(savedUsers, false));
+        savedItems = context.getBean(ItemRepository.class)
+                .saveAll(Fixtures.items(savedUsers, itemsPerUser, requests, false));
+        List<Booking> bookings = context.getBean(BookingRepository.class)
+                .saveAll(Fixtures.bookings(savedItems, savedUsers, 4, false));
+        context.getBean(CommentRepository.class).saveAll(Fixtures.comments(bookings, 2, false));
+
+        itemPage = new PageRequestFrom(PAGE_SIZE, 0, Sort.unsorted());
+        bookingPage = new PageRequestFrom(PAGE_SIZE, 0, Sort.by("start").descending());
+        requestPage = new PageRequestFrom(PAGE_SIZE, 0, Sort.by("created").descending());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemInfoDto getItem() {
+        Item item = savedItems.get(ThreadLocalRandom.current().nextInt(savedItems.size()));
+        return itemService.get(item.getOwner().getId(), item.getId());
+    }
+
+    @Benchmark
+    public List<ItemInfoDto> getAllItemsByUserId() {
+        return itemService.getAllItemsByUserID(randomUserId(), itemPage);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return itemService.search("thing " + ThreadLocalRandom.current().nextInt(10), itemPage);
+    }
+
+    @Benchmark
+    public List<BookingUpdateDto> getAllBookingsByOwnerId() {
+        return bookingService.getAllByOwnerId(randomUserId(), BookingSearchState.ALL, bookingPage);
+    }
+
+    @Benchmark
+    public List<BookingUpdateDto> getAllBookingsByBookerId() {
+        return bookingService.getAllByBookerId(randomUserId(), BookingSearchState.ALL, bookingPage);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponsesDto> getAllRequests() {
+        return itemRequestService.getAll(randomUserId(), requestPage);
+    }
+
+    private long randomUserId() {
+        return savedUsers.get(ThreadLocalRandom.current().nextInt(savedUsers.size())).getId();
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.benchmarks.jmh_generated;
+public class MapperBenchmark_jmhType extends MapperBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.benchmarks.jmh_generated;
+public class ServiceBenchmark_jmhType extends ServiceBenchmark_jmhType_B3 {
+}
+
@@ -2,61 +2,78 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final String ITEMS_PREFIX = "/items";
+    private static final Pattern ITEM_KEY = Pattern.compile("/items/\\d+$");
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         ServerTransport transport,
+                         ResponseCache responseCache) {
+        super(transport, serverUrl + API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> getAllByBookerId(long userId, BookingSearchState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getAllByBookerId(long userId, BookingSearchState state, Integer from,
+                                                         Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (after == null) {
+            return get("?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("after", after);
+        return get("?state={state}&from={from}&size={size}&after={after}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(long userId, BookingSearchState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(long userId, BookingSearchState state, Integer from,
+                                                        Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (after == null) {
+            return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("after", after);
+        return get("/owner?state={state}&from={from}&size={size}&after={after}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> create(long userId, BookingDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> create(long userId, BookingDto requestDto) {
+        // Bookings are only part of GET /items/{id}, and only of the owner's view of it
+        String itemPath = ITEMS_PREFIX + "/" + requestDto.getItemId();
+        return post("", userId, requestDto)
+                .doOnNext(response -> responseCache.invalidate(ITEMS_PREFIX, key -> key.endsWith(itemPath)));
     }
 
-    public ResponseEntity<Object> updateState(long userId, long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateState(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
 
-        return patch("/" + bookingId + "?approved={approved}", Long.valueOf(userId), parameters, null);
+        // The item id is not known here, but the owner approving is the only one whose item view shows bookings
+        return patch("/" + bookingId + "?approved={approved}", Long.valueOf(userId), parameters, null)
+                .doOnNext(response -> responseCache.invalidate(ITEMS_PREFIX, key -> key.startsWith(userId + " ")
+                        && ITEM_KEY.matcher(key).find()));
     }
 }
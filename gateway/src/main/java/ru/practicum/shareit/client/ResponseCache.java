@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Short-lived cache of successful GET responses from the server.
+ * Entries are grouped in regions (one per API prefix) so a write through the gateway can drop
+ * what it may have changed. Each region is an LRU map bounded by shareit.gateway.cache.max-entries.
+ * <p>
+ * Every invalidation bumps the generation of its region, and a response is only stored if the region is still
+ * at the generation read before its GET was sent, so a GET that raced with a write cannot put stale data back.
+ * <p>
+ * The cache is local to one gateway instance: a write through another instance does not invalidate it,
+ * so with several instances an entry may be stale until its TTL runs out. Keep the TTLs short.
+ */
+@Component
+public class ResponseCache {
+    private final int maxEntries;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${shareit.gateway.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public static String key(long userId, URI uri) {
+        return userId + " " + uri;
+    }
+
+    public ResponseEntity<Object> get(String regionName, String key) {
+        Region region = regions.get(regionName);
+        if (region == null) {
+            return null;
+        }
+        synchronized (region) {
+            Entry entry = region.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() <= 0) {
+                region.entries.remove(key);
+                return null;
+            }
+            return entry.response;
+        }
+    }
+
+    public long generation(String regionName) {
+        Region region = region(regionName);
+        synchronized (region) {
+            return region.generation;
+        }
+    }
+
+    public void put(String regionName, String key, ResponseEntity<Object> response, Duration ttl, long generation) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        Region region = region(regionName);
+        synchronized (region) {
+            if (region.generation == generation) {
+                region.entries.put(key, new Entry(response, System.nanoTime() + ttl.toNanos()));
+            }
+        }
+    }
+
+    public void invalidate(String... regionNames) {
+        for (String regionName : regionNames) {
+            invalidate(regionName, key -> true);
+        }
+    }
+
+    public void invalidate(String regionName, Predicate<String> keys) {
+        Region region = region(regionName);
+        synchronized (region) {
+            region.generation++;
+            region.entries.keySet().removeIf(keys);
+        }
+    }
+
+    public void invalidateAll() {
+        regions.keySet().forEach(regionName -> invalidate(regionName, key -> true));
+    }
+
+    private Region region(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new Region(maxEntries));
+    }
+
+    private static class Region {
+        private final Map<String, Entry> entries;
+        private long generation;
+
+        private Region(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private static class Entry {
+        private final ResponseEntity<Object> response;
+        private final long expiresAt;
+
+        private Entry(ResponseEntity<Object> response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Servlet gateway mode. The call blocks the request thread that subscribes to the returned Mono,
+ * and the response body is streamed back to the caller without being parsed and serialized again.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplateBuilder builder) {
+        this.rest = builder.build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, @Nullable Long userId,
+                                                 @Nullable Object body) {
+        return Mono.fromCallable(() -> stream(method, uri, userId, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> bufferedGet(URI uri, long userId) {
+        return Mono.fromCallable(() -> {
+            HttpEntity<Void> requestEntity = new HttpEntity<>(requestHeaders(userId));
+            try {
+                ResponseEntity<byte[]> response = rest.exchange(uri, HttpMethod.GET, requestEntity, byte[].class);
+                return ResponseEntity.status(response.getStatusCode())
+                        .headers(TransportHeaders.passThrough(response.getHeaders()))
+                        .body(response.getBody());
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getRawStatusCode())
+                        .headers(TransportHeaders.passThrough(e.getResponseHeaders()))
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+
+    private ResponseEntity<Object> stream(HttpMethod method, URI uri, @Nullable Long userId, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, requestHeaders(userId));
+
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+            StreamedResponseFilter.register(response);
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(TransportHeaders.passThrough(response.getHeaders()))
+                    .body(new InputStreamResource(closingBody(response)));
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The message converter closes the stream once it is copied; closing the response returns the connection
+     * to the pool.
+     */
+    private static InputStream closingBody(ClientHttpResponse response) throws IOException {
+        return new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() {
+                response.close();
+            }
+        };
+    }
+
+    private static HttpHeaders requestHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        TransportHeaders.setRequestHeaders(headers, userId);
+        return headers;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Sends a gateway call to the server and passes the server's status, end-to-end headers and raw body back.
+ * {@link RestTemplateTransport} is used by the servlet gateway, {@link WebClientTransport} by the reactive one;
+ * the clients and controllers on top of it are the same in both modes.
+ */
+public interface ServerTransport {
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, @Nullable Long userId, @Nullable Object body);
+
+    /**
+     * A GET whose body is read into memory, so the response can be kept in {@link ResponseCache}.
+     */
+    Mono<ResponseEntity<Object>> bufferedGet(URI uri, long userId);
+}
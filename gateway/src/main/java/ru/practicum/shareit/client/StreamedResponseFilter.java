@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closes the server responses that RestTemplateTransport streamed for a request once that request is done.
+ * A streamed body normally closes its response when it is copied to the caller; this covers the bodies that
+ * are never written (406, async timeout, an error before the write), so their pooled connections are released.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamedResponseFilter extends OncePerRequestFilter {
+    private static final String RESPONSES = StreamedResponseFilter.class.getName() + ".responses";
+
+    static void register(ClientHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<ClientHttpResponse> responses =
+                (List<ClientHttpResponse>) attributes.getAttribute(RESPONSES, RequestAttributes.SCOPE_REQUEST);
+        if (responses == null) {
+            responses = new ArrayList<>();
+            attributes.setAttribute(RESPONSES, responses, RequestAttributes.SCOPE_REQUEST);
+        }
+        responses.add(response);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            @SuppressWarnings("unchecked")
+            List<ClientHttpResponse> responses = (List<ClientHttpResponse>) request.getAttribute(RESPONSES);
+            if (responses != null) {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new CloseOnCompletion(responses));
+                } else {
+                    close(responses);
+                }
+            }
+        }
+    }
+
+    private static void close(List<ClientHttpResponse> responses) {
+        responses.forEach(ClientHttpResponse::close);
+        responses.clear();
+    }
+
+    private static class CloseOnCompletion implements AsyncListener {
+        private final List<ClientHttpResponse> responses;
+
+        private CloseOnCompletion(List<ClientHttpResponse> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close(responses);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close(responses);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close(responses);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
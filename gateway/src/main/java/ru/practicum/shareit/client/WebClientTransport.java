@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Reactive gateway mode: the call runs on the Netty event loop without blocking a thread.
+ * The body is read as bytes, so every response is already buffered and can be cached as is.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient.Builder builder) {
+        this.webClient = builder.build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, @Nullable Long userId,
+                                                 @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .headers(headers -> TransportHeaders.setRequestHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(TransportHeaders.passThrough(response.getHeaders()))
+                        .<Object>body(response.getBody()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> bufferedGet(URI uri, long userId) {
+        return exchange(HttpMethod.GET, uri, userId, null);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.Create;
+import ru.practicum.shareit.error.InvalidArgumentException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks a POST /items/batch body: Spring validates a @RequestBody list as a whole, not its elements.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBatchValidator {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final Validator validator;
+
+    public void validate(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            throw new InvalidArgumentException("Список предметов пуст");
+        }
+        if (itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidArgumentException("Можно создать не более " + MAX_BATCH_SIZE + " предметов за раз");
+        }
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            if (itemDto == null) {
+                throw new InvalidArgumentException("items[" + i + "]: предмет не null");
+            }
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto, Create.class);
+            if (!violations.isEmpty()) {
+                throw new InvalidArgumentException("items[" + i + "]: " + violations.iterator().next().getMessage());
+            }
+        }
+    }
+}
@@ -2,32 +2,39 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 @Component
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String REQUESTS_PREFIX = "/requests";
+
+    private final Duration itemTtl;
+    private final Duration searchTtl;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      ServerTransport transport,
+                      ResponseCache responseCache,
+                      @Value("${shareit.gateway.cache.ttl.item:5s}") Duration itemTtl,
+                      @Value("${shareit.gateway.cache.ttl.search:30s}") Duration searchTtl) {
+        super(transport, serverUrl + API_PREFIX, responseCache);
+        this.itemTtl = itemTtl;
+        this.searchTtl = searchTtl;
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -35,29 +42,36 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> get(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> get(long userId, long itemId) {
+        return cachedGet(API_PREFIX, itemTtl, "/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
                 "text", text
         );
-        return get("/search?from={from}&size={size}&text={text}", userId, parameters);
+        return cachedGet(API_PREFIX, searchTtl, "/search?from={from}&size={size}&text={text}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
+        return post("", userId, itemDto)
+                .doOnNext(response -> responseCache.invalidate(API_PREFIX, REQUESTS_PREFIX));
+    }
 
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos)
+                .doOnNext(response -> responseCache.invalidate(API_PREFIX, REQUESTS_PREFIX));
     }
 
-    public ResponseEntity<Object> createComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(long userId, long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doOnNext(response -> responseCache.invalidate(API_PREFIX));
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto)
+                .doOnNext(response -> responseCache.invalidate(API_PREFIX, REQUESTS_PREFIX));
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.Update;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -12,61 +13,72 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemBatchValidator itemBatchValidator;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size
-    ) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
         log.info("Controller = {}, UserId = {} , get all Items from = {} and size = {}",
                 this.getClass().getSimpleName(), userId, from, size);
         return itemClient.getAll(userId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@RequestHeader("X-Sharer-User-Id") long userId,
-                                      @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> get(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @PathVariable long itemId) {
         log.info("Controller = {}, UserId = {} ,get ItemId = {}", this.getClass().getSimpleName(), userId, itemId);
         return itemClient.get(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size,
-                                         @RequestParam(required = false) String text) {
+    public Mono<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) String text) {
         log.info("Controller = {}, UserId = {} ,get ItemId with text {} from = {} and size = {}",
                 this.getClass().getSimpleName(), userId, text, from, size);
         return itemClient.search(userId, text, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @Validated({Create.class}) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @Validated({Create.class}) @RequestBody ItemDto itemDto) {
         log.info("Controller = {}, UserId = {} ,Create Item = {}", this.getClass().getSimpleName(), userId, itemDto);
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestBody List<ItemDto> itemDtos) {
+        log.info("Controller = {}, UserId = {} ,Create {} Items", this.getClass().getSimpleName(), userId,
+                itemDtos.size());
+        itemBatchValidator.validate(itemDtos);
+        return itemClient.createAll(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long itemId,
-                                                @Validated({Create.class}) @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable long itemId,
+                                                      @Validated({Create.class}) @RequestBody CommentDto commentDto) {
         log.info("Controller = {}, UserId = {} ,Create comment = {}", this.getClass().getSimpleName(), userId,
                 commentDto);
         return itemClient.createComment(userId, itemId, commentDto);
     }
 
-
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PathVariable long itemId,
-                                         @Validated({Update.class}) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @PathVariable long itemId,
+                                               @Validated({Update.class}) @RequestBody ItemDto itemDto) {
         log.info("Controller = {}, UserId = {} ,Update ItemId = {}, item = {}", this.getClass().getSimpleName(),
                 userId, itemId, itemDto);
         return itemClient.update(userId, itemId, itemDto);
@@ -2,39 +2,41 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Component
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final Duration requestTtl;
+
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl,
+                         ServerTransport transport,
+                         ResponseCache responseCache,
+                         @Value("${shareit.gateway.cache.ttl.request:5s}") Duration requestTtl) {
+        super(transport, serverUrl + API_PREFIX, responseCache);
+        this.requestTtl = requestTtl;
     }
 
-    public ResponseEntity<Object> getOwnRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getById(long userId, long requestId) {
+        return cachedGet(API_PREFIX, requestTtl, "/" + requestId, userId, null);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +44,8 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto)
+                .doOnNext(response -> responseCache.invalidate(API_PREFIX));
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.Update;
 
@@ -17,31 +18,32 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("Controller = {}, get All Users", this.getClass().getSimpleName());
         return userClient.getAll();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable long userId) {
         log.info("Controller = {}, get user with id = {}", this.getClass().getSimpleName(), userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated({Create.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Validated({Create.class}) @RequestBody UserDto userDto) {
         log.info("Controller = {}, Create User = {}", this.getClass().getSimpleName(), userDto);
         return userClient.create(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable long userId, @Validated({Update.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable long userId,
+                                               @Validated({Update.class}) @RequestBody UserDto userDto) {
         log.info("Controller = {}, update User = {} with id = {}", this.getClass().getSimpleName(), userDto, userId);
         return userClient.update(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long userId) {
         log.info("Controller = {}, delete User with id = {}", this.getClass().getSimpleName(), userId);
         return userClient.delete(userId);
     }
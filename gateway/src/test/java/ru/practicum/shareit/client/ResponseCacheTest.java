@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final ResponseCache responseCache = new ResponseCache(100);
+
+    @Test
+    void putAfterInvalidateIsDropped() {
+        long generation = responseCache.generation("/items");
+        responseCache.invalidate("/items");
+        responseCache.put("/items", "1 http://server/items/1", ResponseEntity.ok("stale"), TTL, generation);
+
+        assertNull(responseCache.get("/items", "1 http://server/items/1"));
+    }
+
+    @Test
+    void invalidateOtherRegionKeepsPut() {
+        long generation = responseCache.generation("/items");
+        responseCache.invalidate("/requests");
+        responseCache.put("/items", "1 http://server/items/1", ResponseEntity.ok("item"), TTL, generation);
+
+        assertNotNull(responseCache.get("/items", "1 http://server/items/1"));
+    }
+
+    @Test
+    void invalidateKeysKeepsOthers() {
+        long generation = responseCache.generation("/items");
+        responseCache.put("/items", "1 http://server/items/1", ResponseEntity.ok("first"), TTL, generation);
+        responseCache.put("/items", "1 http://server/items/2", ResponseEntity.ok("second"), TTL, generation);
+
+        responseCache.invalidate("/items", key -> key.endsWith("/items/1"));
+
+        assertNull(responseCache.get("/items", "1 http://server/items/1"));
+        assertNotNull(responseCache.get("/items", "1 http://server/items/2"));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+public class RestTemplateTransportTest {
+    private static final String BODY = "{\"error\":\"Нет такой вещи\"}";
+
+    private final MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+    private final RestTemplateTransport transport = new RestTemplateTransport(new RestTemplateBuilder(customizer));
+    private final MockRestServiceServer server = customizer.getServer();
+
+    @Test
+    void exchangePassesStatusHeadersAndBodyThrough() throws IOException {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(serverHeaders)
+                        .body(BODY));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.PATCH, URI.create("http://server/items/1"),
+                1L, "{}").block();
+
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8),
+                ((InputStreamResource) response.getBody()).getInputStream().readAllBytes());
+        server.verify();
+    }
+
+    @Test
+    void bufferedGetPassesErrorStatusThrough() {
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        ResponseEntity<Object> response = transport.bufferedGet(URI.create("http://server/items/1"), 1L).block();
+
+        assertEquals(404, response.getStatusCodeValue());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        server.verify();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamedResponseFilterTest {
+    private static final URI URL = URI.create("http://server/items/1");
+
+    private final StreamedResponseFilter filter = new StreamedResponseFilter();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+    private ClientHttpResponse serverResponse;
+    private RestTemplateTransport transport;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        serverResponse = mock(ClientHttpResponse.class);
+        when(serverResponse.getRawStatusCode()).thenReturn(200);
+        when(serverResponse.getHeaders()).thenReturn(new HttpHeaders());
+        when(serverResponse.getBody())
+                .thenReturn(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        ClientHttpRequest serverRequest = mock(ClientHttpRequest.class);
+        when(serverRequest.getHeaders()).thenReturn(new HttpHeaders());
+        when(serverRequest.getBody()).thenReturn(new ByteArrayOutputStream());
+        when(serverRequest.execute()).thenReturn(serverResponse);
+        ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+        when(requestFactory.createRequest(any(), any())).thenReturn(serverRequest);
+
+        transport = new RestTemplateTransport(new RestTemplateBuilder().requestFactory(() -> requestFactory));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void afterEach() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void closingCopiedBodyClosesResponse() throws IOException {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, URL, 1L, null).block();
+
+        ((InputStreamResource) response.getBody()).getInputStream().close();
+        verify(serverResponse).close();
+    }
+
+    @Test
+    void unwrittenBodyIsClosedWhenRequestEnds() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> transport.exchange(HttpMethod.GET, URL, 1L, null).block());
+
+        verify(serverResponse).close();
+    }
+
+    @Test
+    void unwrittenBodyIsClosedWhenAsyncRequestEnds() throws Exception {
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.startAsync();
+            transport.exchange(HttpMethod.GET, URL, 1L, null).block();
+        });
+        verify(serverResponse, never()).close();
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        verify(serverResponse).close();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class WebClientTransportTest {
+    private static final String BODY = "{\"error\":\"Предмет уже забронирован на эти даты\"}";
+
+    private final AtomicReference<ClientRequest> request = new AtomicReference<>();
+    private final WebClientTransport transport = new WebClientTransport(WebClient.builder()
+            .exchangeFunction(clientRequest -> {
+                request.set(clientRequest);
+                return Mono.just(ClientResponse.create(HttpStatus.CONFLICT)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.CONNECTION, "keep-alive")
+                        .body(BODY)
+                        .build());
+            }));
+
+    @Test
+    void exchangePassesStatusHeadersAndBodyThrough() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.POST, URI.create("http://server/bookings"),
+                1L, "{}").block();
+
+        assertEquals(409, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals("1", request.get().headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void bufferedGetPassesStatusThrough() {
+        ResponseEntity<Object> response = transport.bufferedGet(URI.create("http://server/items/1"), 1L).block();
+
+        assertEquals(409, response.getStatusCodeValue());
+        assertEquals(HttpMethod.GET, request.get().method());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+}
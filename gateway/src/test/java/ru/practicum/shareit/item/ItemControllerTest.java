@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ItemController.class, properties = "shareit-server.url=http://server")
+@Import({ItemClient.class, ItemBatchValidator.class, ResponseCache.class})
+public class ItemControllerTest {
+
+    @MockBean
+    private ServerTransport transport;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void createWithoutName() {
+        webTestClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\":\"very fast\",\"available\":true}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(transport);
+    }
+
+    @Test
+    void getAllWithNegativeFrom() {
+        webTestClient.get().uri("/items?from=-1&size=10")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(transport);
+    }
+
+    @Test
+    void createAllWithNullItem() {
+        webTestClient.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[null]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"error\":\"items[0]: предмет не null\"}");
+
+        verifyNoInteractions(transport);
+    }
+
+    @Test
+    void createAllWithBlankName() {
+        webTestClient.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"name\":\"car\",\"description\":\"fast\",\"available\":true}," +
+                        "{\"name\":\" \",\"description\":\"no name\",\"available\":true}]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"error\":\"items[1]: name не пустой\"}");
+
+        verifyNoInteractions(transport);
+    }
+
+    @Test
+    void createAllWithTooManyItems() {
+        String item = "{\"name\":\"car\",\"description\":\"very fast\",\"available\":true}";
+        String body = "[" + String.join(",", Collections.nCopies(ItemBatchValidator.MAX_BATCH_SIZE + 1, item)) + "]";
+
+        webTestClient.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(transport);
+    }
+
+    @Test
+    void getPassesServerStatusThrough() {
+        when(transport.bufferedGet(URI.create("http://server/items/1"), 1L))
+                .thenReturn(serverResponse(404, "{\"error\":\"Нет такой вещи\"}"));
+
+        webTestClient.get().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"Нет такой вещи\"}");
+    }
+
+    @Test
+    void createPassesServerStatusThrough() {
+        when(transport.exchange(eq(HttpMethod.POST), eq(URI.create("http://server/items")), eq(1L), any()))
+                .thenReturn(serverResponse(409, "{\"error\":\"conflict\"}"));
+
+        webTestClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"car\",\"description\":\"very fast\",\"available\":true}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody().json("{\"error\":\"conflict\"}");
+    }
+
+    private static Mono<ResponseEntity<Object>> serverResponse(int status, String body) {
+        return Mono.just(ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
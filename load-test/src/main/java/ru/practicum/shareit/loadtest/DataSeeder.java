@@ -0,0 +1,117 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database through the server repositories. Emails carry a run id, so repeated runs against the same
+ * PostgreSQL database do not collide; bookings of an item get consecutive non-overlapping slots.
+ */
+@Slf4j
+class DataSeeder {
+    static final int SEARCH_WORDS = 500;
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final Random random = new Random(42);
+
+    DataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.bookingIntervalIndex = context.getBean(BookingIntervalIndex.class);
+    }
+
+    Dataset seed(LoadTestSettings settings) {
+        if (settings.users < 2 || settings.items < 1) {
+            throw new IllegalArgumentException("Нужно хотя бы 2 пользователя и 1 предмет");
+        }
+        long started = System.nanoTime();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        List<User> users = new ArrayList<>(settings.users);
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.users; i++) {
+            batch.add(new User(null, "user" + i, "user" + i + "." + runId + "@load.ru"));
+            if (batch.size() == BATCH_SIZE || i == settings.users - 1) {
+                users.addAll(userRepository.saveAll(batch));
+                batch.clear();
+            }
+        }
+
+        List<ItemRequest> requests = new ArrayList<>(settings.requests);
+        List<ItemRequest> requestBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.requests; i++) {
+            requestBatch.add(new ItemRequest(null, "need thing " + i % SEARCH_WORDS, randomOf(users),
+                    now.minusMinutes(i)));
+            if (requestBatch.size() == BATCH_SIZE || i == settings.requests - 1) {
+                requests.addAll(itemRequestRepository.saveAll(requestBatch));
+                requestBatch.clear();
+            }
+        }
+
+        long[] itemIds = new long[settings.items];
+        long[] itemOwnerIds = new long[settings.items];
+        List<Item> itemBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.items; i++) {
+            ItemRequest request = i % 4 == 0 && !requests.isEmpty() ? randomOf(requests) : null;
+            itemBatch.add(new Item(null, "thing " + i % SEARCH_WORDS, "useful thing number " + i, true,
+                    users.get(i % users.size()), request));
+            if (itemBatch.size() == BATCH_SIZE || i == settings.items - 1) {
+                int first = i - itemBatch.size() + 1;
+                List<Item> saved = itemRepository.saveAll(itemBatch);
+                for (int j = 0; j < saved.size(); j++) {
+                    itemIds[first + j] = saved.get(j).getId();
+                    itemOwnerIds[first + j] = saved.get(j).getOwner().getId();
+                }
+                itemBatch.clear();
+            }
+        }
+
+        List<Booking> bookingBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.bookings; i++) {
+            int itemIndex = i % settings.items;
+            User booker = users.get((itemIndex + 1 + random.nextInt(users.size() - 1)) % users.size());
+            LocalDateTime start = now.minusDays(30).plusDays(3L * (i / settings.items));
+            BookingState status = i % 5 == 4 ? BookingState.WAITING : BookingState.APPROVED;
+            Item item = itemRepository.getReferenceById(itemIds[itemIndex]);
+            bookingBatch.add(new Booking(null, start, start.plusDays(2), item, booker, status,
+                    itemOwnerIds[itemIndex], 0));
+            if (bookingBatch.size() == BATCH_SIZE || i == settings.bookings - 1) {
+                bookingRepository.saveAll(bookingBatch);
+                bookingBatch.clear();
+            }
+        }
+        bookingIntervalIndex.rebuild();
+
+        long[] userIds = users.stream().mapToLong(User::getId).toArray();
+        log.info("Seeded users = {}, requests = {}, items = {}, bookings = {} in {} ms", users.size(),
+                requests.size(), itemIds.length, settings.bookings, (System.nanoTime() - started) / 1_000_000);
+        return new Dataset(userIds, itemIds, itemOwnerIds);
+    }
+
+    private <T> T randomOf(List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of the seeded rows the load is driven with; itemOwnerIds[i] owns itemIds[i].
+ */
+class Dataset {
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final long[] itemOwnerIds;
+
+    Dataset(long[] userIds, long[] itemIds, long[] itemOwnerIds) {
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.itemOwnerIds = itemOwnerIds;
+    }
+
+    long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    int randomItem() {
+        return ThreadLocalRandom.current().nextInt(itemIds.length);
+    }
+
+    long itemId(int item) {
+        return itemIds[item];
+    }
+
+    long ownerId(int item) {
+        return itemOwnerIds[item];
+    }
+
+    long randomUserIdExcept(long userId) {
+        long id;
+        do {
+            id = randomUserId();
+        } while (id == userId);
+        return id;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one operation in microseconds. Each worker records into its own instance, they are merged
+ * once the run is over.
+ */
+class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long micros, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = micros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the recorded latencies, call once before asking for percentiles.
+     */
+    void sort() {
+        Arrays.sort(latencies, 0, count);
+    }
+
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return latencies[Math.max(0, Math.min(index, count - 1))];
+    }
+}
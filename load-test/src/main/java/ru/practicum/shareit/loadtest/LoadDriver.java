@@ -0,0 +1,166 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.VirtualThreadConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop load: settings.concurrency workers each send the next request as soon as the previous one
+ * is answered, picking the operation by its load.mix weight. Only requests started after the warmup are recorded.
+ */
+@Slf4j
+class LoadDriver {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTestSettings settings;
+    private final Dataset dataset;
+    private final Operation[] operations;
+    private final HttpClient httpClient;
+    private final LocalDateTime bookingsFrom = LocalDateTime.now().plusYears(10).withNano(0);
+    private final AtomicLong bookingSlot = new AtomicLong();
+
+    LoadDriver(LoadTestSettings settings, Dataset dataset) {
+        this.settings = settings;
+        this.dataset = dataset;
+        this.operations = settings.mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    LoadReport run() throws InterruptedException {
+        ExecutorService executor = newExecutor();
+        long warmupEnd = System.nanoTime() + settings.warmup.toNanos();
+        long end = warmupEnd + settings.duration.toNanos();
+        List<Map<Operation, LatencyRecorder>> recorders = new ArrayList<>(settings.concurrency);
+        CountDownLatch finished = new CountDownLatch(settings.concurrency);
+
+        log.info("Driving {} with {} workers for {} after {} warmup", settings.gatewayUrl, settings.concurrency,
+                settings.duration, settings.warmup);
+        for (int i = 0; i < settings.concurrency; i++) {
+            Map<Operation, LatencyRecorder> workerRecorders = new EnumMap<>(Operation.class);
+            recorders.add(workerRecorders);
+            executor.execute(() -> {
+                try {
+                    work(workerRecorders, warmupEnd, end);
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        finished.await();
+        executor.shutdown();
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, LatencyRecorder> workerRecorders : recorders) {
+            workerRecorders.forEach((operation, recorder) ->
+                    merged.computeIfAbsent(operation, o -> new LatencyRecorder()).addAll(recorder));
+        }
+        return new LoadReport(settings.duration, merged);
+    }
+
+    private void work(Map<Operation, LatencyRecorder> recorders, long warmupEnd, long end) {
+        long started;
+        while ((started = System.nanoTime()) < end) {
+            Operation operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+            boolean success;
+            try {
+                HttpResponse<Void> response = httpClient.send(request(operation),
+                        HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (started >= warmupEnd) {
+                recorders.computeIfAbsent(operation, o -> new LatencyRecorder())
+                        .record((System.nanoTime() - started) / 1000, success);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SEARCH:
+                return get("/items/search?from=0&size=" + PAGE_SIZE + "&text=thing%20"
+                        + random.nextInt(DataSeeder.SEARCH_WORDS), dataset.randomUserId());
+            case OWNER_BOOKINGS:
+                return get("/bookings/owner?state=ALL&from=0&size=" + PAGE_SIZE,
+                        dataset.ownerId(dataset.randomItem()));
+            case REQUESTS_ALL:
+                return get("/requests/all?from=0&size=" + PAGE_SIZE, dataset.randomUserId());
+            case CREATE_BOOKING:
+                int item = dataset.randomItem();
+                LocalDateTime start = bookingsFrom.plusHours(bookingSlot.incrementAndGet());
+                return post("/bookings", dataset.randomUserIdExcept(dataset.ownerId(item)),
+                        "{\"itemId\":" + dataset.itemId(item)
+                                + ",\"start\":\"" + start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                                + "\",\"end\":\"" + start.plusMinutes(30).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                                + "\"}");
+            case CREATE_REQUEST:
+                return post("/requests", dataset.randomUserId(),
+                        "{\"description\":\"need thing " + random.nextInt(DataSeeder.SEARCH_WORDS) + "\"}");
+            default:
+                throw new IllegalStateException("Неизвестная операция " + operation);
+        }
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(settings.gatewayUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, long userId, String body) {
+        return HttpRequest.newBuilder(URI.create(settings.gatewayUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * One virtual thread per worker when load.virtual-threads=true and the JVM supports it, so thousands of
+     * concurrent clients stay cheap; a fixed platform thread pool otherwise.
+     */
+    private ExecutorService newExecutor() {
+        if (settings.virtualThreads) {
+            ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                return executor;
+            }
+            log.warn("Virtual threads are not supported by Java {}, using platform threads", Runtime.version());
+        }
+        return Executors.newFixedThreadPool(settings.concurrency);
+    }
+}
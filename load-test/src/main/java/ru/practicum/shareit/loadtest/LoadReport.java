@@ -0,0 +1,41 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation and in total.
+ */
+class LoadReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Duration duration;
+    private final Map<Operation, LatencyRecorder> recorders;
+
+    LoadReport(Duration duration, Map<Operation, LatencyRecorder> recorders) {
+        this.duration = duration;
+        this.recorders = recorders;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-16s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        LatencyRecorder total = new LatencyRecorder();
+        recorders.forEach((operation, recorder) -> {
+            total.addAll(recorder);
+            print(out, operation.title, recorder);
+        });
+        print(out, "total", total);
+    }
+
+    private void print(PrintStream out, String title, LatencyRecorder recorder) {
+        recorder.sort();
+        out.printf("%-16s %9d %8d %10.1f", title, recorder.count(), recorder.errors(),
+                recorder.count() * 1000.0 / duration.toMillis());
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", recorder.percentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", recorder.percentile(100) / 1000.0);
+    }
+}
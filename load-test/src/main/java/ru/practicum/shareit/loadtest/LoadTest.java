@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Seeds the database through the server repositories and drives a running gateway with the configured
+ * request mix. With load.embedded-server=true (default) the server itself runs in this JVM on its usual port,
+ * which is required for the in-memory H2 of the ci profile; with load.profile=default the PostgreSQL
+ * database from application.properties is seeded instead.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestSettings settings = new LoadTestSettings();
+        log.info("Load test {}", settings);
+
+        SpringApplicationBuilder server = new SpringApplicationBuilder(ShareItServer.class)
+                .web(settings.embeddedServer ? WebApplicationType.SERVLET : WebApplicationType.NONE);
+        if (!settings.profile.isBlank()) {
+            server.profiles(settings.profile);
+        }
+        try (ConfigurableApplicationContext context = server.run(args)) {
+            Dataset dataset = new DataSeeder(context).seed(settings);
+            LoadReport report = new LoadDriver(settings, dataset).run();
+            report.print(System.out);
+        }
+    }
+}
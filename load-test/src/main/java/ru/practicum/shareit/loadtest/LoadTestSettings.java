@@ -0,0 +1,56 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from load.* system properties.
+ */
+final class LoadTestSettings {
+    final int users = intProperty("load.users", 1000);
+    final int items = intProperty("load.items", 5000);
+    final int bookings = intProperty("load.bookings", 20000);
+    final int requests = intProperty("load.requests", 2000);
+    final String profile = System.getProperty("load.profile", "ci");
+    final boolean embeddedServer = Boolean.parseBoolean(System.getProperty("load.embedded-server", "true"));
+    final URI gatewayUrl = URI.create(System.getProperty("load.gateway-url", "http://localhost:8080"));
+    final int concurrency = intProperty("load.concurrency", 64);
+    final boolean virtualThreads = Boolean.parseBoolean(System.getProperty("load.virtual-threads", "false"));
+    final Duration warmup = Duration.ofSeconds(intProperty("load.warmup-seconds", 10));
+    final Duration duration = Duration.ofSeconds(intProperty("load.duration-seconds", 60));
+    final Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix",
+            "search=40,owner-bookings=25,requests-all=20,create-booking=10,create-request=5"));
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("load.mix: ожидается операция=вес, получено " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byName(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix: нет ни одной операции");
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", items=" + items + ", bookings=" + bookings + ", requests=" + requests +
+                ", profile=" + profile + ", gateway=" + gatewayUrl + ", concurrency=" + concurrency +
+                ", virtualThreads=" + virtualThreads + ", warmup=" + warmup + ", duration=" + duration +
+                ", mix=" + mix;
+    }
+}
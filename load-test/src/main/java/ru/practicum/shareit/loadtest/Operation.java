@@ -0,0 +1,24 @@
+package ru.practicum.shareit.loadtest;
+
+enum Operation {
+    SEARCH("search"),
+    OWNER_BOOKINGS("owner-bookings"),
+    REQUESTS_ALL("requests-all"),
+    CREATE_BOOKING("create-booking"),
+    CREATE_REQUEST("create-request");
+
+    final String title;
+
+    Operation(String title) {
+        this.title = title;
+    }
+
+    static Operation byName(String title) {
+        for (Operation operation : values()) {
+            if (operation.title.equals(title)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция " + title);
+    }
+}
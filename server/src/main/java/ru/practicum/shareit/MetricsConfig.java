@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL statement counting on top of the http.server.requests and spring.data.repository.invocations
+ * timers Spring Boot records; histograms and the Prometheus endpoint are set up in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                sqlStatementCounter);
+    }
+
+    @Bean
+    public SqlStatementMetricsFilter sqlStatementMetricsFilter(SqlStatementCounter sqlStatementCounter,
+                                                               MeterRegistry meterRegistry) {
+        return new SqlStatementMetricsFilter(sqlStatementCounter, meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in (shareit.virtual-threads.enabled=true): Tomcat runs every request on its own virtual thread.
+ * The JDBC driver blocks inside synchronized code and so pins its carrier thread, so the carrier pool should be
+ * at least as large as the Hikari pool. The JVM reads jdk.virtualThreadScheduler.parallelism only once, before
+ * the first virtual thread starts, so it has to be passed as a JVM flag
+ * (e.g. JAVA_TOOL_OPTIONS=-Djdk.virtualThreadScheduler.parallelism=10); a warning is logged when it is too low.
+ * On a JVM without virtual threads (the Docker image runs Java 11 by default) the Tomcat thread pool is kept.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+    static final String CARRIER_PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int jdbcPoolSize) {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        if (executor == null) {
+            log.warn("Virtual threads are not supported by Java {}, using the Tomcat thread pool",
+                    Runtime.version());
+            return protocolHandler -> { };
+        }
+        int parallelism = carrierParallelism();
+        if (parallelism < jdbcPoolSize) {
+            log.warn("{} = {} is below the JDBC pool size {}, start the JVM with -D{}={}", CARRIER_PARALLELISM,
+                    parallelism, jdbcPoolSize, CARRIER_PARALLELISM, jdbcPoolSize);
+        }
+        log.info("Tomcat requests run on virtual threads, {} = {}", CARRIER_PARALLELISM, parallelism);
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static int carrierParallelism() {
+        String configured = System.getProperty(CARRIER_PARALLELISM);
+        return configured != null ? Integer.parseInt(configured) : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() looked up reflectively, since the build targets Java 11;
+     * null when the running JVM has no virtual threads. The load-test driver uses it for its workers too.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.PageRequestFrom;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -31,12 +32,13 @@ public class BookingController {
 
 
     @GetMapping
-    List<BookingUpdateDto> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
+    ResponseEntity<List<BookingUpdateDto>> getAllByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
                                             @RequestParam(defaultValue = "ALL") String state,
                                             @RequestParam(defaultValue = "0") Integer from,
-                                            @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Controller = {}, UserId = {} ,get all Booking with State = {}, from = {} and size = {}",
-                this.getClass().getSimpleName(), userId, state, from, size);
+                                            @RequestParam(defaultValue = "10") Integer size,
+                                            @RequestParam(required = false) String after) {
+        log.info("Controller = {}, UserId = {} ,get all Booking with State = {}, from = {}, size = {} and after = {}",
+                this.getClass().getSimpleName(), userId, state, from, size, after);
         BookingSearchState bookingSearchState = null;
         try {
             bookingSearchState = BookingSearchState.valueOf(state);
@@ -44,19 +46,25 @@ public class BookingController {
             throw new InvalidArgumentException("Unknown state: UNSUPPORTED_STATUS");
         }
 
+        if (after != null) {
+            return withNextCursor(bookingService.getAllByBookerIdAfter(userId, bookingSearchState,
+                    BookingCursor.parse(after), size), size);
+        }
+
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
 
         List<BookingUpdateDto> dto = bookingService.getAllByBookerId(userId, bookingSearchState, pageRequest);
-        return dto;
+        return withNextCursor(dto, size);
     }
 
     @GetMapping("/owner")
-    List<BookingUpdateDto> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
+    ResponseEntity<List<BookingUpdateDto>> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
                                            @RequestParam(defaultValue = "ALL") String state,
                                            @RequestParam(defaultValue = "0") Integer from,
-                                           @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Controller = {}, UserId = {} ,get all Booking by owner with State = {}, from = {} and size = {}",
-                this.getClass().getSimpleName(), userId, state, from, size);
+                                           @RequestParam(defaultValue = "10") Integer size,
+                                           @RequestParam(required = false) String after) {
+        log.info("Controller = {}, UserId = {} ,get all Booking by owner with State = {}, from = {}, size = {} and after = {}",
+                this.getClass().getSimpleName(), userId, state, from, size, after);
         BookingSearchState bookingSearchState = null;
         try {
             bookingSearchState = BookingSearchState.valueOf(state);
@@ -64,10 +72,15 @@ public class BookingController {
             throw new InvalidArgumentException("Unknown state: UNSUPPORTED_STATUS");
         }
 
+        if (after != null) {
+            return withNextCursor(bookingService.getAllByOwnerIdAfter(userId, bookingSearchState,
+                    BookingCursor.parse(after), size), size);
+        }
+
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
 
         List<BookingUpdateDto> dto = bookingService.getAllByOwnerId(userId, bookingSearchState, pageRequest);
-        return dto;
+        return withNextCursor(dto, size);
     }
 
     @PostMapping
@@ -87,4 +100,14 @@ public class BookingController {
         BookingUpdateDto dto = bookingService.updateState(userId, bookingId, approved);
         return dto;
     }
+
+    private ResponseEntity<List<BookingUpdateDto>> withNextCursor(List<BookingUpdateDto> dtos, int size) {
+        if (dtos.isEmpty() || dtos.size() < size) {
+            return ResponseEntity.ok(dtos);
+        }
+        BookingUpdateDto last = dtos.get(dtos.size() - 1);
+        return ResponseEntity.ok()
+                .header(BookingCursor.HEADER, new BookingCursor(last.getStart(), last.getId()).toToken())
+                .body(dtos);
+    }
 }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.error.InvalidArgumentException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BookingCursor {
+    public static final String HEADER = "X-Next-Cursor";
+
+    private final LocalDateTime start;
+    private final long id;
+
+    public static BookingCursor parse(String token) {
+        int separator = token.lastIndexOf(',');
+        if (separator < 0) {
+            throw new InvalidArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(token.substring(0, separator).trim()),
+                    Long.parseLong(token.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String toToken() {
+        return start + "," + id;
+    }
+}
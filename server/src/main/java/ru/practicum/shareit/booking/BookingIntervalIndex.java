@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.error.StatusElemException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of APPROVED booking intervals, one tree per item keyed by start.
+ * Approved intervals of an item never overlap, so a conflict check only has to look at the interval that starts
+ * right before the requested end (O(log n)). Approvals are checked and recorded atomically per item.
+ * Used where the database cannot enforce this itself (H2); on PostgreSQL the bookings_no_overlap exclusion
+ * constraint does. Disabled unless shareit.booking.overlap-index.enabled=true.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Map<Long, NavigableMap<LocalDateTime, Interval>> approvedByItemId = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.overlap-index.enabled:false}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        approvedByItemId.clear();
+        PageRequest pageRequest = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Slice<Booking> slice;
+        int size = 0;
+        do {
+            slice = bookingRepository.findAllByStatus(BookingState.APPROVED, pageRequest);
+            for (Booking booking : slice) {
+                approvedByItemId.computeIfAbsent(booking.getItem().getId(), id -> new TreeMap<>())
+                        .put(booking.getStart(), new Interval(booking.getId(), booking.getEnd()));
+                size++;
+            }
+            pageRequest = pageRequest.next();
+        } while (slice.hasNext());
+        ready = true;
+        log.info("Booking interval index built, approved bookings = {}", size);
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Interval> intervals = approvedByItemId.get(itemId);
+        if (intervals == null) {
+            return false;
+        }
+        synchronized (intervals) {
+            return findOverlap(intervals, start, end, null) != null;
+        }
+    }
+
+    public void approve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        approvedByItemId.compute(itemId, (id, intervals) -> {
+            NavigableMap<LocalDateTime, Interval> tree = intervals != null ? intervals : new TreeMap<>();
+            synchronized (tree) {
+                if (findOverlap(tree, booking.getStart(), booking.getEnd(), booking.getId()) != null) {
+                    throw new StatusElemException("Предмет уже забронирован на эти даты");
+                }
+                tree.merge(booking.getStart(), new Interval(booking.getId(), booking.getEnd()),
+                        (own, added) -> Objects.equals(own.bookingId, added.bookingId) ? own.hold() : added);
+            }
+            return tree;
+        });
+        afterCompletion(false, () -> remove(itemId, booking, false));
+    }
+
+    public void release(Booking booking) {
+        long itemId = booking.getItem().getId();
+        afterCompletion(true, () -> remove(itemId, booking, true));
+    }
+
+    /**
+     * Concurrent approvals of the same booking share one interval; a rolled back one only drops its hold,
+     * a committed release drops the interval.
+     */
+    private void remove(long itemId, Booking booking, boolean released) {
+        approvedByItemId.computeIfPresent(itemId, (id, intervals) -> {
+            synchronized (intervals) {
+                intervals.computeIfPresent(booking.getStart(), (start, interval) -> {
+                    if (!Objects.equals(interval.bookingId, booking.getId())) {
+                        return interval;
+                    }
+                    return released || --interval.holders == 0 ? null : interval;
+                });
+                return intervals.isEmpty() ? null : intervals;
+            }
+        });
+    }
+
+    /**
+     * Runs the action after the current transaction commits (onCommit) or rolls back (!onCommit);
+     * outside a transaction a commit is assumed.
+     */
+    private static void afterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static Interval findOverlap(NavigableMap<LocalDateTime, Interval> intervals, LocalDateTime start,
+                                        LocalDateTime end, Long excludedBookingId) {
+        Map.Entry<LocalDateTime, Interval> before = intervals.lowerEntry(end);
+        while (before != null && Objects.equals(before.getValue().bookingId, excludedBookingId)) {
+            before = intervals.lowerEntry(before.getKey());
+        }
+        if (before != null && before.getValue().end.isAfter(start)) {
+            return before.getValue();
+        }
+        return null;
+    }
+
+    private static class Interval {
+        private final Long bookingId;
+        private final LocalDateTime end;
+        private int holders = 1;
+
+        private Interval(Long bookingId, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.end = end;
+        }
+
+        private Interval hold() {
+            holders++;
+            return this;
+        }
+    }
+}
@@ -50,7 +50,9 @@ public class BookingMapper {
                 bookingDto.getEnd(),
                 item,
                 booker,
-                null
+                null,
+                item.getOwner().getId(),
+                0
         );
     }
 }
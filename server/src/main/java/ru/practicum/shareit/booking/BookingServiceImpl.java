@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
@@ -13,7 +16,7 @@ import ru.practicum.shareit.error.*;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,16 +25,20 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class BookingServiceImpl implements BookingService {
-    private final UserRepository userRepository;
+    private static final int UPDATE_STATE_ATTEMPTS = 3;
+
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TransactionOperations transactionOperations;
 
     @Override
     @Transactional
     public BookingDto create(long userId, BookingDto bookingDto) {
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User booker = userLookup.getById(userId);
         Item item = itemRepository.findById(bookingDto.getItemId())
                 .orElseThrow(() -> new NoSuchElemException("Нет такого предмета"));
         if (!item.getAvailable()) {
@@ -41,6 +48,10 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidAccessException("Нельзя забронировать свой предмет");
         }
 
+        if (overlapsApproved(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new StatusElemException("Предмет уже забронирован на эти даты");
+        }
+
         Booking booking = BookingMapper.toBooking(bookingDto, booker, item);
         booking.setStatus(BookingState.WAITING);
         booking = bookingRepository.save(booking);
@@ -49,10 +60,31 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional
     public BookingUpdateDto updateState(long userId, long bookingId, Boolean approved) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        BookingState newBookingState = approved ? BookingState.APPROVED : BookingState.REJECTED;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> tryUpdateState(userId, bookingId, newBookingState));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= UPDATE_STATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Booking = {} was changed concurrently, attempt = {}", bookingId, attempt);
+            }
+        }
+    }
+
+    private BookingUpdateDto tryUpdateState(long userId, long bookingId, BookingState newBookingState) {
+        userLookup.ensureExists(userId);
+
+        if (bookingRepository.updateStatusIfWaiting(bookingId, userId, newBookingState) == 1) {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new NoSuchElemException("Нет такого бронирования"));
+            if (newBookingState == BookingState.APPROVED) {
+                approve(booking);
+            }
+            return BookingMapper.toBookingUpdateDto(booking);
+        }
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого бронирования"));
@@ -62,12 +94,16 @@ public class BookingServiceImpl implements BookingService {
                     " только владелец вещи");
         }
 
-        BookingState newBookingState = approved ? BookingState.APPROVED : BookingState.REJECTED;
-
         if ((booking.getStatus() == BookingState.APPROVED) && (newBookingState == BookingState.APPROVED)) {
             throw new AlreadySetStatusException("Уже APPROVED установлен");
         }
 
+        if (newBookingState == BookingState.APPROVED) {
+            approve(booking);
+        } else if (booking.getStatus() == BookingState.APPROVED) {
+            bookingIntervalIndex.release(booking);
+        }
+
         booking.setStatus(newBookingState);
         Booking newBooking = bookingRepository.save(booking);
 
@@ -77,8 +113,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingUpdateDto getById(long userId, long bookingId) {
-        User userById = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого бронирования"));
@@ -99,14 +134,13 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public List<BookingUpdateDto> getAllByBookerId(long userId, BookingSearchState bookingSearchState,
                                                    PageRequest pageRequest) {
-        User userById = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
         boolean isValidState = isBookingSearchStateValid(bookingSearchState);
         if (!isValidState) {
             throw new NoSuchElemException("Такой статус брони не поддерживается");
         }
 
-        Page<Booking> bookingPage = getUsersBookingsByStateFromBookerWithPage(userId, bookingSearchState, pageRequest);
+        Slice<Booking> bookingPage = getUsersBookingsByStateFromBookerWithPage(userId, bookingSearchState, pageRequest);
 
         List<Booking> bookings = bookingPage.stream().collect(Collectors.toList());
         return BookingMapper.bookingUpdateDtoList(bookings);
@@ -116,8 +150,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public List<BookingUpdateDto> getAllByOwnerId(long userId, BookingSearchState bookingSearchState,
                                                   PageRequest pageRequest) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User owner = userLookup.getById(userId);
         boolean isValidState = isBookingSearchStateValid(bookingSearchState);
         if (!isValidState) {
             throw new NoSuchElemException("Такой статус брони не поддерживается");
@@ -126,32 +159,90 @@ public class BookingServiceImpl implements BookingService {
             throw new NoSuchElemException("У владельца " + userId + " нет ни одного предмета");
         }
 
-        Page<Booking> bookingPage = getUsersBookingsByStateFromOwner(userId, bookingSearchState, pageRequest);
+        Slice<Booking> bookingPage = getUsersBookingsByStateFromOwner(userId, bookingSearchState, pageRequest);
         List<Booking> bookings = bookingPage.stream().collect(Collectors.toList());
         return BookingMapper.bookingUpdateDtoList(bookings);
     }
 
-    private Page<Booking> getUsersBookingsByStateFromOwner(long userId, BookingSearchState bookingSearchState,
+    @Override
+    @Transactional
+    public List<BookingUpdateDto> getAllByBookerIdAfter(long userId, BookingSearchState bookingSearchState,
+                                                        BookingCursor cursor, int size) {
+        userLookup.ensureExists(userId);
+        boolean isValidState = isBookingSearchStateValid(bookingSearchState);
+        if (!isValidState) {
+            throw new NoSuchElemException("Такой статус брони не поддерживается");
+        }
+
+        List<Booking> bookings = bookingRepository.findAllByBookerIdAfter(userId, bookingSearchState,
+                LocalDateTime.now(), cursor, size);
+        return BookingMapper.bookingUpdateDtoList(bookings);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingUpdateDto> getAllByOwnerIdAfter(long userId, BookingSearchState bookingSearchState,
+                                                       BookingCursor cursor, int size) {
+        User owner = userLookup.getById(userId);
+        boolean isValidState = isBookingSearchStateValid(bookingSearchState);
+        if (!isValidState) {
+            throw new NoSuchElemException("Такой статус брони не поддерживается");
+        }
+        if (!hasOwnerByIdAtLeastOneItem(owner)) {
+            throw new NoSuchElemException("У владельца " + userId + " нет ни одного предмета");
+        }
+
+        List<Booking> bookings = bookingRepository.findAllByOwnerIdAfter(userId, bookingSearchState,
+                LocalDateTime.now(), cursor, size);
+        return BookingMapper.bookingUpdateDtoList(bookings);
+    }
+
+    private boolean overlapsApproved(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return false;
+        }
+        if (bookingIntervalIndex.isReady()) {
+            return bookingIntervalIndex.overlaps(itemId, start, end);
+        }
+        return bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(itemId, BookingState.APPROVED,
+                end, start);
+    }
+
+    private void approve(Booking booking) {
+        if (booking.getStart() == null || booking.getEnd() == null) {
+            return;
+        }
+        if (bookingIntervalIndex.isReady()) {
+            bookingIntervalIndex.approve(booking);
+            return;
+        }
+        if (bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(booking.getItem().getId(),
+                BookingState.APPROVED, booking.getEnd(), booking.getStart(), booking.getId())) {
+            throw new StatusElemException("Предмет уже забронирован на эти даты");
+        }
+    }
+
+    private Slice<Booking> getUsersBookingsByStateFromOwner(long userId, BookingSearchState bookingSearchState,
                                                            PageRequest pageRequest) {
-        Page<Booking> bookings = null;
+        Slice<Booking> bookings = null;
         switch (bookingSearchState) {
             case ALL:
-                bookings = bookingRepository.findAllByItem_Owner_Id(userId, pageRequest);
+                bookings = bookingRepository.findAllByOwnerId(userId, pageRequest);
                 break;
             case APPROVED:
             case WAITING:
             case REJECTED:
                 BookingState bookingState = convertBookingSearchStateToBookingState(bookingSearchState);
                 bookings =
-                        bookingRepository.findAllByItem_Owner_IdAndStatusIs(userId, bookingState, pageRequest);
+                        bookingRepository.findAllByOwnerIdAndStatusIs(userId, bookingState, pageRequest);
                 break;
             case FUTURE:
                 bookings =
-                        bookingRepository.findAllByItem_Owner_IdAndStartAfter(userId, LocalDateTime.now(), pageRequest);
+                        bookingRepository.findAllByOwnerIdAndStartAfter(userId, LocalDateTime.now(), pageRequest);
                 break;
             case PAST:
                 bookings =
-                        bookingRepository.findAllByItem_Owner_IdAndEndBefore(userId,
+                        bookingRepository.findAllByOwnerIdAndEndBefore(userId,
                                 LocalDateTime.now(), pageRequest);
                 break;
             case CURRENT:
@@ -176,9 +267,9 @@ public class BookingServiceImpl implements BookingService {
     }
 
 
-    private Page<Booking> getUsersBookingsByStateFromBookerWithPage(long userId, BookingSearchState bookingSearchState,
+    private Slice<Booking> getUsersBookingsByStateFromBookerWithPage(long userId, BookingSearchState bookingSearchState,
                                                                     PageRequest pageRequest) {
-        Page<Booking> bookings = null;
+        Slice<Booking> bookings = null;
         switch (bookingSearchState) {
             case ALL:
                 bookings = bookingRepository.findAllByBooker_Id(userId, pageRequest);
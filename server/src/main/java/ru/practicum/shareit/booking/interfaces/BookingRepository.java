@@ -1,45 +1,80 @@
 package ru.practicum.shareit.booking.interfaces;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingState;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
     Optional<Booking> findFirstByBooker_IdAndItem_IdAndEndBefore(long bookerId, long itemId, LocalDateTime now);
 
-    List<Booking> findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(long userId, long itemId);
+    List<Booking> findTop2ByOwnerIdAndItem_IdOrderByStartAsc(long userId, long itemId);
+
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfter(long itemId, BookingState status, LocalDateTime end,
+                                                              LocalDateTime start);
+
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(long itemId, BookingState status,
+                                                                      LocalDateTime end, LocalDateTime start,
+                                                                      long bookingId);
+
+    Slice<Booking> findAllByStatus(BookingState status, PageRequest pageRequest);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.ownerId = ?2 and b.status = ru.practicum.shareit.booking.BookingState.WAITING")
+    int updateStatusIfWaiting(long bookingId, long ownerId, BookingState status);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status, b.owner_id, b.version " +
+            "from (select bk.*, row_number() over (partition by bk.item_id order by bk.start_date) as rn " +
+            "      from bookings bk " +
+            "      where bk.owner_id = ?1 and bk.item_id in (?2)) b " +
+            "where b.rn <= 2 " +
+            "order by b.item_id, b.start_date", nativeQuery = true)
+    List<Booking> findTop2ByOwnerIdForEachItem(long ownerId, Collection<Long> itemIds);
 
     List<Booking> findAllByBooker_IdOrderByStartDesc(long bookerId);
 
-    Page<Booking> findAllByBooker_Id(long bookerId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBooker_Id(long bookerId, PageRequest pageRequest);
 
-    Page<Booking> findAllByItem_Owner_Id(long ownerId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByOwnerId(long ownerId, PageRequest pageRequest);
 
-    Page<Booking> findAllByBooker_IdAndStatusIs(long bookerId, BookingState status, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBooker_IdAndStatusIs(long bookerId, BookingState status, PageRequest pageRequest);
 
-    Page<Booking> findAllByItem_Owner_IdAndStatusIs(long ownerId, BookingState status, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByOwnerIdAndStatusIs(long ownerId, BookingState status, PageRequest pageRequest);
 
-    Page<Booking> findAllByBooker_IdAndStartAfter(long bookerId, LocalDateTime after, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBooker_IdAndStartAfter(long bookerId, LocalDateTime after, PageRequest pageRequest);
 
-    Page<Booking> findAllByItem_Owner_IdAndStartAfter(long ownerId, LocalDateTime after, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByOwnerIdAndStartAfter(long ownerId, LocalDateTime after, PageRequest pageRequest);
 
-    Page<Booking> findAllByBooker_IdAndEndBefore(long bookerId, LocalDateTime before, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBooker_IdAndEndBefore(long bookerId, LocalDateTime before, PageRequest pageRequest);
 
-    Page<Booking> findAllByItem_Owner_IdAndEndBefore(long ownerId, LocalDateTime before, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByOwnerIdAndEndBefore(long ownerId, LocalDateTime before, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("select b from Booking b where b.booker.id = ?1 and b.start < ?2 and b.end > ?2 ")
-    Page<Booking> findCurrentBookingFromBooker(long bookerId, LocalDateTime now, PageRequest pageRequest);
+    Slice<Booking> findCurrentBookingFromBooker(long bookerId, LocalDateTime now, PageRequest pageRequest);
 
-    @Query("select b from Booking b where b.item.owner.id = ?1 and b.start < ?2 and b.end > ?2 ")
-    Page<Booking> findCurrentBookingFromOwner(long ownerId, LocalDateTime now, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b where b.ownerId = ?1 and b.start < ?2 and b.end > ?2 ")
+    Slice<Booking> findCurrentBookingFromOwner(long ownerId, LocalDateTime now, PageRequest pageRequest);
 }
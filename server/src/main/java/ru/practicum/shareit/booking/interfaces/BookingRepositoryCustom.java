@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.interfaces;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingSearchState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findAllByBookerIdAfter(long bookerId, BookingSearchState state, LocalDateTime now,
+                                         BookingCursor cursor, int size);
+
+    List<Booking> findAllByOwnerIdAfter(long ownerId, BookingSearchState state, LocalDateTime now,
+                                        BookingCursor cursor, int size);
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.interfaces;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingSearchState;
+import ru.practicum.shareit.booking.BookingState;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllByBookerIdAfter(long bookerId, BookingSearchState state, LocalDateTime now,
+                                                BookingCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        booking.fetch("item");
+        booking.fetch("booker");
+
+        Predicate byBooker = cb.equal(booking.get("booker").get("id"), bookerId);
+        return findAfter(cb, query, booking, byBooker, state, now, cursor, size);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAfter(long ownerId, BookingSearchState state, LocalDateTime now,
+                                               BookingCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        booking.fetch("item");
+        booking.fetch("booker");
+
+        Predicate byOwner = cb.equal(booking.get("ownerId"), ownerId);
+        return findAfter(cb, query, booking, byOwner, state, now, cursor, size);
+    }
+
+    private List<Booking> findAfter(CriteriaBuilder cb, CriteriaQuery<Booking> query, Root<Booking> booking,
+                                    Predicate byUser, BookingSearchState state, LocalDateTime now,
+                                    BookingCursor cursor, int size) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(byUser);
+        switch (state) {
+            case APPROVED:
+            case WAITING:
+            case REJECTED:
+            case CANCELED:
+                predicates.add(cb.equal(booking.get("status"), BookingState.valueOf(state.name())));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            case ALL:
+                break;
+        }
+        if (cursor != null) {
+            predicates.add(cb.lessThanOrEqualTo(start, cursor.getStart()));
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursor.getStart()),
+                    cb.lessThan(id, cursor.getId())));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
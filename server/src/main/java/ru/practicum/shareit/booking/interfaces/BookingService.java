@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.interfaces;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingSearchState;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
@@ -17,6 +18,12 @@ public interface BookingService {
     List<BookingUpdateDto> getAllByBookerId(long userId, BookingSearchState bookingSearchState,
                                             PageRequest pageRequest);
 
+    List<BookingUpdateDto> getAllByBookerIdAfter(long userId, BookingSearchState bookingSearchState,
+                                                 BookingCursor cursor, int size);
+
+    List<BookingUpdateDto> getAllByOwnerIdAfter(long userId, BookingSearchState bookingSearchState,
+                                                BookingCursor cursor, int size);
+
     List<BookingUpdateDto> getAllByOwnerId(long userId, BookingSearchState bookingSearchStateState,
                                            PageRequest pageRequest);
 
@@ -1,15 +1,28 @@
 package ru.practicum.shareit.error;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.persistence.EntityNotFoundException;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Set;
+
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    private static final String USER_EMAIL_CONSTRAINT = "uq_user_email";
+    private static final Set<String> USER_FOREIGN_KEYS = Set.of(
+            "fk_items_users", "fk_bookings_users", "fk_bookings_owners", "fk_comments_users", "fk_requests_users"
+    );
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -61,10 +74,61 @@ public class ErrorHandler {
     }
 
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse handleEntityNotFoundException(final EntityNotFoundException e) {
+        log.info("404 {}", e.getMessage(), e);
+        return new ErrorResponse("Нет такого пользователя");
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            final DataIntegrityViolationException e) {
+        Throwable mostSpecificCause = e.getMostSpecificCause();
+        String cause = String.valueOf(mostSpecificCause.getMessage());
+        String lowerCaseCause = cause.toLowerCase(Locale.ROOT);
+        if (isMissingUser(mostSpecificCause, lowerCaseCause)) {
+            log.info("404 {}", cause, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Нет такого пользователя"));
+        }
+        log.info("409 {}", cause, e);
+        if (lowerCaseCause.contains(BOOKING_OVERLAP_CONSTRAINT)) {
+            return conflict("Предмет уже забронирован на эти даты");
+        }
+        if (lowerCaseCause.contains(USER_EMAIL_CONSTRAINT)) {
+            return conflict("Пользователь с таким email уже существует");
+        }
+        return conflict("Операция нарушает целостность данных");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrencyFailureException(final ConcurrencyFailureException e) {
+        log.info("409 {}", e.getMessage(), e);
+        return new ErrorResponse("Данные изменены другим запросом, повторите попытку");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
         log.info("500 {}", e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
+
+    private static ResponseEntity<ErrorResponse> conflict(String message) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(message));
+    }
+
+    /**
+     * A row was written for a user that no longer exists (a stale UserLookup entry). H2 reports a missing parent
+     * row as 23506, PostgreSQL as 23503 "insert or update on table"; a delete blocked by child rows stays a 409.
+     */
+    private static boolean isMissingUser(Throwable cause, String lowerCaseCause) {
+        if (!(cause instanceof SQLException) || USER_FOREIGN_KEYS.stream().noneMatch(lowerCaseCause::contains)) {
+            return false;
+        }
+        String sqlState = ((SQLException) cause).getSQLState();
+        return "23506".equals(sqlState)
+                || "23503".equals(sqlState) && lowerCaseCause.contains("insert or update on table");
+    }
 }
@@ -65,6 +65,15 @@ public class ItemController {
         return dto;
     }
 
+    @PostMapping("/batch")
+    List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                            @RequestBody List<ItemDto> itemDtos) {
+        log.info("Controller = {}, UserId = {} ,Create {} Items", this.getClass().getSimpleName(), userId,
+                itemDtos.size());
+        List<ItemDto> dtos = itemService.createAll(userId, itemDtos);
+        return dtos;
+    }
+
     @PostMapping("/{itemId}/comment")
     CommentDto createComment(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long itemId,
                              @Validated({Create.class}) @RequestBody CommentDto commentDto) {
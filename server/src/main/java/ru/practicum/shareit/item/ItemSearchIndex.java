@@ -0,0 +1,311 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over item name and description.
+ * Answers the same query as ItemRepository.search (substring match, name matches first, then by id)
+ * without going to the database. Disabled unless shareit.search.index.enabled=true.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    private long[] itemIds;
+    private long[] requestIds;
+    private boolean[] available;
+    private boolean[] alive;
+    private String[] names;
+    private String[] descriptions;
+    private String[] upperNames;
+    private String[] upperDescriptions;
+    private int size;
+    private int deleted;
+    private Map<Long, Integer> ordinalByItemId;
+    private Map<String, Postings> postingsByGram;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        clear();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clear();
+            PageRequest pageRequest = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+            Slice<Item> slice;
+            do {
+                slice = itemRepository.findAllBy(pageRequest);
+                for (Item item : slice) {
+                    add(item);
+                }
+                pageRequest = pageRequest.next();
+            } while (slice.hasNext());
+            ready = true;
+            log.info("Item search index built, items = {}, grams = {}", size, postingsByGram.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the saved item once the current transaction commits, so a rollback leaves no phantom entry;
+     * outside a transaction it is applied right away.
+     */
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        ItemDto snapshot = ItemMapper.toItemDto(item);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(snapshot);
+            }
+        });
+    }
+
+    private void apply(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalByItemId.get(item.getId());
+            if (previous != null) {
+                alive[previous] = false;
+                deleted++;
+            }
+            add(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()),
+                    item.getRequestId() != null ? item.getRequestId() : 0);
+            if (deleted > INITIAL_CAPACITY && deleted > size / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, PageRequest pageRequest) {
+        String query = text.toUpperCase(Locale.ROOT);
+        List<Integer> byName = new ArrayList<>();
+        List<Integer> byDescription = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(query);
+            int count = candidates == null ? size : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int ordinal = candidates == null ? i : candidates[i];
+                if (!alive[ordinal]) {
+                    continue;
+                }
+                if (upperNames[ordinal].contains(query)) {
+                    byName.add(ordinal);
+                } else if (available[ordinal] && upperDescriptions[ordinal].contains(query)) {
+                    byDescription.add(ordinal);
+                }
+            }
+            byName.sort((left, right) -> Long.compare(itemIds[left], itemIds[right]));
+            byDescription.sort((left, right) -> Long.compare(itemIds[left], itemIds[right]));
+
+            List<ItemDto> dtos = new ArrayList<>();
+            long total = byName.size() + byDescription.size();
+            long to = Math.min(total, pageRequest.getOffset() + pageRequest.getPageSize());
+            for (long position = pageRequest.getOffset(); position < to; position++) {
+                int ordinal = position < byName.size()
+                        ? byName.get((int) position)
+                        : byDescription.get((int) position - byName.size());
+                dtos.add(toItemDto(ordinal));
+            }
+            return dtos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return null;
+        }
+        int[] result = null;
+        for (String gram : grams(query)) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            result = result == null
+                    ? Arrays.copyOf(postings.ordinals, postings.length)
+                    : intersect(result, postings);
+            if (result.length == 0) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, Postings right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right.ordinals[j]) {
+                result[count++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right.ordinals[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void add(Item item) {
+        add(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()),
+                item.getRequest() != null ? item.getRequest().getId() : 0);
+    }
+
+    private void add(long itemId, String name, String description, boolean isAvailable, long requestId) {
+        ensureCapacity(size + 1);
+        int ordinal = size++;
+        itemIds[ordinal] = itemId;
+        requestIds[ordinal] = requestId;
+        available[ordinal] = isAvailable;
+        alive[ordinal] = true;
+        names[ordinal] = name;
+        descriptions[ordinal] = description;
+        upperNames[ordinal] = name.toUpperCase(Locale.ROOT);
+        upperDescriptions[ordinal] = description.toUpperCase(Locale.ROOT);
+        ordinalByItemId.put(itemId, ordinal);
+
+        Set<String> grams = grams(upperNames[ordinal]);
+        grams.addAll(grams(upperDescriptions[ordinal]));
+        for (String gram : grams) {
+            postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void compact() {
+        long[] oldItemIds = itemIds;
+        long[] oldRequestIds = requestIds;
+        boolean[] oldAvailable = available;
+        boolean[] oldAlive = alive;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        int oldSize = size;
+
+        clear();
+        for (int ordinal = 0; ordinal < oldSize; ordinal++) {
+            if (oldAlive[ordinal]) {
+                add(oldItemIds[ordinal], oldNames[ordinal], oldDescriptions[ordinal], oldAvailable[ordinal],
+                        oldRequestIds[ordinal]);
+            }
+        }
+    }
+
+    private void clear() {
+        itemIds = new long[INITIAL_CAPACITY];
+        requestIds = new long[INITIAL_CAPACITY];
+        available = new boolean[INITIAL_CAPACITY];
+        alive = new boolean[INITIAL_CAPACITY];
+        names = new String[INITIAL_CAPACITY];
+        descriptions = new String[INITIAL_CAPACITY];
+        upperNames = new String[INITIAL_CAPACITY];
+        upperDescriptions = new String[INITIAL_CAPACITY];
+        size = 0;
+        deleted = 0;
+        ordinalByItemId = new HashMap<>();
+        postingsByGram = new HashMap<>();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= itemIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, itemIds.length * 2);
+        itemIds = Arrays.copyOf(itemIds, newCapacity);
+        requestIds = Arrays.copyOf(requestIds, newCapacity);
+        available = Arrays.copyOf(available, newCapacity);
+        alive = Arrays.copyOf(alive, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        upperNames = Arrays.copyOf(upperNames, newCapacity);
+        upperDescriptions = Arrays.copyOf(upperDescriptions, newCapacity);
+    }
+
+    private ItemDto toItemDto(int ordinal) {
+        return new ItemDto(
+                itemIds[ordinal],
+                names[ordinal],
+                descriptions[ordinal],
+                available[ordinal],
+                requestIds[ordinal] != 0 ? requestIds[ordinal] : null
+        );
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int length;
+
+        private void add(int ordinal) {
+            if (length == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, length * 2);
+            }
+            ordinals[length++] = ordinal;
+        }
+    }
+}
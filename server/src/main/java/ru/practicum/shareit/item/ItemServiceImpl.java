@@ -1,8 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
@@ -21,29 +21,33 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
 
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     @Transactional
     public ItemDto create(long userId, ItemDto itemDto) {
 
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User owner = userLookup.getById(userId);
 
         Long requestId = itemDto.getRequestId();
         ItemRequest requestor = null;
@@ -52,36 +56,61 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NoSuchElemException("Нет такого запроса"));
         }
 
-        Item item = ItemMapper.toItem(owner, itemDto, requestor);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item item = itemRepository.save(ItemMapper.toItem(owner, itemDto, requestor));
+        itemSearchIndex.index(item);
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createAll(long userId, List<ItemDto> itemDtos) {
+        User owner = userLookup.getById(userId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requestsById = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (requestsById.size() != requestIds.size()) {
+            throw new NoSuchElemException("Нет такого запроса");
+        }
+
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (ItemDto itemDto : itemDtos) {
+            ItemRequest requestor = itemDto.getRequestId() != null ? requestsById.get(itemDto.getRequestId()) : null;
+            items.add(ItemMapper.toItem(owner, itemDto, requestor));
+        }
+        List<Item> saved = itemRepository.saveAll(items);
+        saved.forEach(itemSearchIndex::index);
+        return ItemMapper.toItemsDto(saved);
     }
 
     @Override
     @Transactional
     public ItemDto update(long userId, long itemId, ItemDto itemDto) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого предмета"));
         if (item.getOwner().getId() != userId) {
             throw new InvalidAccessException("Такой пользователь не может модифицировать предмет");
         }
-        Item toUpdate = getToUpdate(item, itemDto);
+        Item updated = itemRepository.save(getToUpdate(item, itemDto));
+        itemSearchIndex.index(updated);
 
-        return ItemMapper.toItemDto(itemRepository.save(toUpdate));
+        return ItemMapper.toItemDto(updated);
     }
 
 
     @Override
     @Transactional
     public ItemInfoDto get(long userId, long itemId) {
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого предмета"));
 
         List<Booking> bookingsOfOwnerItem =
-                bookingRepository.findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(userId, itemId);
+                bookingRepository.findTop2ByOwnerIdAndItem_IdOrderByStartAsc(userId, itemId);
         List<Comment> commentsOfItem = commentRepository.findAllByItem_Id(itemId);
 
         return ItemMapper.toItemInfoDto(item, bookingsOfOwnerItem, commentsOfItem);
@@ -91,10 +120,9 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public List<ItemInfoDto> getAllItemsByUserID(long userId, PageRequest pageRequest) {
 
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User owner = userLookup.getById(userId);
 
-        Page<Item> itemPage = itemRepository.findAllByOwner(owner, pageRequest);
+        Slice<Item> itemPage = itemRepository.findAllByOwner(owner, pageRequest);
         List<Item> itemsByUserId = itemPage.stream().collect(Collectors.toList());
         List<ItemInfoDto> itemsInfoDtos = evaluateItemsInfoDtos(userId, itemsByUserId);
 
@@ -109,16 +137,18 @@ public class ItemServiceImpl implements ItemService {
         if ("".equals(text)) {
             return new ArrayList<>();
         }
-        Page<Item> itemPage = itemRepository.search(text, pageRequest);
-        List<Item> items = itemPage.stream().collect(Collectors.toList());
-        return ItemMapper.toItemsDto(items);
+        if (text != null && itemSearchIndex.isReady()) {
+            return itemSearchIndex.search(text, pageRequest);
+        }
+        Slice<ItemDto> itemPage = itemRepository.searchDtos(text, pageRequest);
+        return itemPage.getContent();
 
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(long userId, long itemId, CommentDto commentDto) {
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User booker = userLookup.getById(userId);
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого предмета"));
@@ -135,11 +165,22 @@ public class ItemServiceImpl implements ItemService {
 
     private List<ItemInfoDto> evaluateItemsInfoDtos(long userId, List<Item> itemsByUserId) {
         List<ItemInfoDto> dtos = new ArrayList<>();
+        if (itemsByUserId.isEmpty()) {
+            return dtos;
+        }
+
+        List<Long> itemIds = itemsByUserId.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Booking>> bookingsByItemId =
+                bookingRepository.findTop2ByOwnerIdForEachItem(userId, itemIds).stream()
+                        .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<Comment>> commentsByItemId = commentRepository.findAllByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
         for (Item item : itemsByUserId) {
-            List<Booking> bookingsOfOwnerItem =
-                    bookingRepository.findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(userId, item.getId());
-            dtos.add(ItemMapper.toItemInfoDto(item, bookingsOfOwnerItem, new ArrayList<>()));
+            dtos.add(ItemMapper.toItemInfoDto(item, bookingsByItemId.get(item.getId()),
+                    commentsByItemId.getOrDefault(item.getId(), new ArrayList<>())));
         }
 
         return dtos;
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.item.interfaces;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItem_Id(long itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItem_IdIn(Collection<Long> itemIds);
 }
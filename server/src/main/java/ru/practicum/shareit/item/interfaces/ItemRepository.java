@@ -1,13 +1,15 @@
 package ru.practicum.shareit.item.interfaces;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,20 +17,20 @@ import java.util.Optional;
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwner(User owner);
 
-    Page<Item> findAllByOwner(User owner, PageRequest pageRequest);
+    Slice<Item> findAllByOwner(User owner, PageRequest pageRequest);
 
-    Optional<Item> findFirstByOwner(User owner);
-
-    @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true ")
-    List<Item> search(String text);
+    Slice<Item> findAllBy(PageRequest pageRequest);
 
+    Optional<Item> findFirstByOwner(User owner);
 
-    @Query(" select i from Item i " +
+    @Query(" select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.request r " +
             "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true ")
-    Page<Item> search(String text, PageRequest pageRequest);
+            " or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id ")
+    Slice<ItemDto> searchDtos(String text, PageRequest pageRequest);
 
     List<Item> findAllByRequest_Id(long requestId);
+
+    List<Item> findAllByRequest_IdIn(Collection<Long> requestIds);
 }
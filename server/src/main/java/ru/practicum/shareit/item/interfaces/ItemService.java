@@ -10,6 +10,8 @@ import java.util.List;
 public interface ItemService {
     ItemDto create(long userId, ItemDto itemDto);
 
+    List<ItemDto> createAll(long userId, List<ItemDto> itemDtos);
+
     ItemDto update(long userId, long itemId, ItemDto itemDto);
 
     ItemInfoDto get(long userId, long itemId);
@@ -1,8 +1,8 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.error.NoSuchElemException;
@@ -13,17 +13,19 @@ import ru.practicum.shareit.request.dto.ItemRequestResponsesDto;
 import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
 import ru.practicum.shareit.request.interfaces.ItemRequestService;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ItemRequestServiceImpl implements ItemRequestService {
 
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
 
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
@@ -32,8 +34,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto create(long userId, ItemRequestDto itemRequestDto) {
-        User requestor = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        User requestor = userLookup.getById(userId);
 
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requestor, itemRequestDto);
         itemRequest.setCreated(LocalDateTime.now());
@@ -45,8 +46,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public List<ItemRequestResponsesDto> getOwn(long userId) {
-        User requestor = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
 
         List<ItemRequest> itemsReqByUser =
                 itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(userId);
@@ -60,8 +60,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestResponsesDto getById(long userId, long requestId) {
-        User requestor = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        userLookup.ensureExists(userId);
 
         ItemRequest requestById = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такой заявки!"));
@@ -76,7 +75,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public List<ItemRequestResponsesDto> getAll(long userId, PageRequest pageRequest) {
-        Page<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_IdNot(userId, pageRequest);
+        Slice<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_IdNot(userId, pageRequest);
         List<ItemRequest> itemRequestsFromPage = itemRequests.stream().collect(Collectors.toList());
         List<ItemRequestResponsesDto> reqResponseDtos =
                 ItemRequestMapper.toItemRequestResponseDtosWithoutResponses(itemRequestsFromPage);
@@ -94,10 +93,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private List<ItemRequestResponsesDto> fillWithResponses(List<ItemRequestResponsesDto> reqResponseDtos) {
+        if (reqResponseDtos.isEmpty()) {
+            return reqResponseDtos;
+        }
+
+        List<Long> requestIds = reqResponseDtos.stream()
+                .map(ItemRequestResponsesDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findAllByRequest_IdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
         for (ItemRequestResponsesDto itemReqRespDto : reqResponseDtos) {
-            List<Item> itemsOfResponse = itemRepository.findAllByRequest_Id(itemReqRespDto.getId());
+            List<Item> itemsOfResponse = itemsByRequestId.getOrDefault(itemReqRespDto.getId(), new ArrayList<>());
             itemReqRespDto.setItems(ItemRequestMapper.toItemRequestResponse(itemsOfResponse));
-
         }
 
         return reqResponseDtos;
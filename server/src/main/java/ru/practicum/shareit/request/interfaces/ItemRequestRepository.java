@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request.interfaces;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.ItemRequest;
 
@@ -10,5 +10,5 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestor_IdOrderByCreatedDesc(long requestorId);
 
-    Page<ItemRequest> findAllByRequestor_IdNot(long requestorId, PageRequest pageRequest);
+    Slice<ItemRequest> findAllByRequestor_IdNot(long requestorId, PageRequest pageRequest);
 }
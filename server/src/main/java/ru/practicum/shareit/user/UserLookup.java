@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.error.NoSuchElemException;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves the X-Sharer-User-Id header to a user.
+ * Ids that were already found are remembered (LRU, bounded by shareit.user-lookup.max-size), so repeated calls
+ * return a reference without a select. UserServiceImpl evicts ids on update and delete.
+ * A user deleted on another instance stays known here until it is evicted; writes for it then fail on a users
+ * foreign key or on the reference, and ErrorHandler reports both as 404.
+ */
+@Component
+public class UserLookup {
+    private final UserRepository userRepository;
+    private final Map<Long, Boolean> knownUserIds;
+
+    public UserLookup(UserRepository userRepository,
+                      @Value("${shareit.user-lookup.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.knownUserIds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public User getById(long userId) {
+        if (knownUserIds.containsKey(userId)) {
+            return userRepository.getReferenceById(userId);
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
+        knownUserIds.put(userId, Boolean.TRUE);
+        return user;
+    }
+
+    public void ensureExists(long userId) {
+        if (!knownUserIds.containsKey(userId)) {
+            getById(userId);
+        }
+    }
+
+    /**
+     * Forgets the id now and again when the current transaction ends, so a lookup that runs before a delete
+     * commits cannot leave it cached.
+     */
+    public void evict(long userId) {
+        knownUserIds.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    knownUserIds.remove(userId);
+                }
+            });
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserLookup userLookup;
 
     @Override
     @Transactional
@@ -36,7 +37,9 @@ public class UserServiceImpl implements UserService {
 
         UserDto toUpdate = getToUpdate(byId, userDto);
         User user = UserMapper.toUser(toUpdate);
-        return UserMapper.toUserDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        userLookup.evict(userId);
+        return UserMapper.toUserDto(saved);
 
     }
 
@@ -60,6 +63,7 @@ public class UserServiceImpl implements UserService {
         User fromStorage = userRepository.findById(userId)
                 .orElseThrow(() -> new NoSuchElemException("Нет такого пользователя"));
         userRepository.delete(fromStorage);
+        userLookup.evict(userId);
     }
 
 
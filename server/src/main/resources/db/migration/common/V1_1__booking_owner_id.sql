@@ -0,0 +1,8 @@
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id);
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_owners FOREIGN KEY (owner_id) REFERENCES users (id);
+
+CREATE INDEX bookings_booker_start_id_index ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX bookings_owner_status_start_index ON bookings (owner_id, status, start_date);
+CREATE INDEX bookings_owner_start_id_index ON bookings (owner_id, start_date DESC, id DESC);
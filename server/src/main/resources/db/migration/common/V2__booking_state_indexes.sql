@@ -0,0 +1,3 @@
+CREATE INDEX bookings_booker_status_start_index ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX bookings_booker_end_index ON bookings (booker_id, end_date DESC);
+CREATE INDEX bookings_owner_end_index ON bookings (owner_id, end_date DESC);
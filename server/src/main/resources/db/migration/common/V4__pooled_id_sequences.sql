@@ -0,0 +1,5 @@
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE requests_id_seq INCREMENT BY 50;
@@ -0,0 +1 @@
+CREATE INDEX bookings_item_status_start_index ON bookings (item_id, status, start_date);
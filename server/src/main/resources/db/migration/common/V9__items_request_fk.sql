@@ -0,0 +1,5 @@
+-- fk_items_users_req pointed items.request_id at users, so only request ids that happened to match a user id
+-- could be saved. Ids that do not name a request are dropped before the constraint is re-pointed.
+ALTER TABLE items DROP CONSTRAINT fk_items_users_req;
+UPDATE items SET request_id = NULL WHERE request_id NOT IN (SELECT id FROM requests);
+ALTER TABLE items ADD CONSTRAINT fk_items_requests FOREIGN KEY (request_id) REFERENCES requests (id);
@@ -0,0 +1,3 @@
+-- Covered by the booker_id-leading indexes of V1_1 and V2. H2 keeps this index bound to fk_bookings_users,
+-- so it is only dropped on PostgreSQL.
+DROP INDEX IF EXISTS fk_bookings_users_index;
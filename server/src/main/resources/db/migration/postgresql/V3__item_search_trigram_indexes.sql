@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_index ON items USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX items_description_trgm_index ON items USING gin (upper(description) gin_trgm_ops);
@@ -0,0 +1,5 @@
+SELECT setval('users_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_id_seq)));
+SELECT setval('items_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM items), (SELECT last_value FROM items_id_seq)));
+SELECT setval('comments_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments), (SELECT last_value FROM comments_id_seq)));
+SELECT setval('bookings_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM bookings), (SELECT last_value FROM bookings_id_seq)));
+SELECT setval('requests_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM requests), (SELECT last_value FROM requests_id_seq)));
@@ -0,0 +1,52 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class FlywayMigrationTest {
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void restartAppliesNothing() {
+        MigrateResult result = flyway.migrate();
+
+        assertEquals(0, result.migrationsExecuted);
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void legacySchemaIsBaselined() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "test", "test");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru')");
+        jdbcTemplate.update("insert into users (id, name, email) values (2, 'booker', 'booker@mail.ru')");
+        jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id) " +
+                "values (1, 'car', 'very fast', true, 1)");
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (1, current_timestamp, current_timestamp, 1, 2, 'WAITING')");
+
+        Flyway legacy = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .load();
+        MigrateResult result = legacy.migrate();
+
+        assertEquals(6, result.migrationsExecuted);
+        assertEquals("9", legacy.info().current().getVersion().getVersion());
+        assertEquals(0, legacy.info().pending().length);
+        assertEquals(1L, jdbcTemplate.queryForObject("select owner_id from bookings where id = 1", Long.class));
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class SqlStatementBudgetTest {
+    private static final int ITEMS = 10;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    private StatementBudget budget;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        budget = new StatementBudget(sqlStatementCounter);
+        owner = userRepository.save(new User(null, "owner", "owner@budget.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@budget.ru"));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            requests.add(new ItemRequest(null, "need thing " + i, booker, now.minusHours(i)));
+        }
+        requests = itemRequestRepository.saveAll(requests);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "thing " + i, "useful thing " + i, true, owner, requests.get(i)));
+        }
+        items = itemRepository.saveAll(items);
+        item = items.get(0);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item saved : items) {
+            bookings.add(new Booking(null, now.minusDays(3), now.minusDays(2), saved, booker,
+                    BookingState.APPROVED, owner.getId(), 0));
+            bookings.add(new Booking(null, now.plusDays(2), now.plusDays(3), saved, booker,
+                    BookingState.WAITING, owner.getId(), 0));
+            comments.add(new Comment(null, "good " + saved.getName(), booker, saved, null));
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getAllItemsByOwner() {
+        budget.assertAtMost(4, () -> perform("/items", owner)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    @Test
+    void getItem() {
+        budget.assertAtMost(4, () -> perform("/items/" + item.getId(), owner)
+                .andExpect(jsonPath("$.comments", hasSize(1))));
+    }
+
+    @Test
+    void searchItemsFromIndex() {
+        itemSearchIndex.rebuild();
+
+        budget.assertAtMost(0, () -> perform("/items/search?text=useful", booker)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    @Test
+    void getOwnRequests() {
+        budget.assertAtMost(3, () -> perform("/requests", booker)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    @Test
+    void getAllRequests() {
+        budget.assertAtMost(2, () -> perform("/requests/all", owner)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    @Test
+    void getAllBookingsByOwner() {
+        budget.assertAtMost(3, () -> perform("/bookings/owner", owner)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    @Test
+    void getAllBookingsByBooker() {
+        budget.assertAtMost(2, () -> perform("/bookings", booker)
+                .andExpect(jsonPath("$", hasSize(ITEMS))));
+    }
+
+    private ResultActions perform(String uri, User user) throws Exception {
+        return mvc.perform(get(uri).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlStatementMetricsFilterTest {
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(sqlStatementCounter, meterRegistry);
+
+    @Test
+    void recordsStatementsPerRequest() throws Exception {
+        sqlStatementCounter.inspect("select 1");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+            sqlStatementCounter.inspect("select * from items");
+            sqlStatementCounter.inspect("select * from comments");
+        });
+
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/items/{itemId}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void unmatchedRequestIsTaggedUnknown() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/nothing"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertEquals(0, meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("uri", "UNKNOWN")
+                .summary()
+                .totalAmount());
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails a test when the action issues more SQL statements than allowed, which is how an N+1 regression shows up.
+ * Counts through the {@link SqlStatementCounter} of the context: @SpringBootTest gets it from {@link MetricsConfig},
+ * slice tests such as @DataJpaTest import {@link Config}.
+ */
+public class StatementBudget {
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public StatementBudget(SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    public <T> T assertAtMost(int maxStatements, ThrowingSupplier<T> action) {
+        sqlStatementCounter.reset();
+        T result;
+        try {
+            result = action.get();
+        } catch (AssertionError e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError("Действие завершилось ошибкой", e);
+        }
+        int statements = sqlStatementCounter.count();
+        if (statements > maxStatements) {
+            fail("Выполнено SQL запросов: " + statements + ", допустимо не более " + maxStatements);
+        }
+        return result;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public SqlStatementCounter sqlStatementCounter() {
+            return new SqlStatementCounter();
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    sqlStatementCounter);
+        }
+    }
+}
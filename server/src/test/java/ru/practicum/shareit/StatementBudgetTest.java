@@ -0,0 +1,40 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementBudgetTest {
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final StatementBudget budget = new StatementBudget(sqlStatementCounter);
+
+    @Test
+    void assertionErrorOfActionIsRethrownUnchanged() {
+        AssertionError expected = new AssertionError("expected 200 but was 404");
+
+        AssertionError thrown = assertThrows(AssertionError.class, () -> budget.assertAtMost(1, () -> {
+            throw expected;
+        }));
+
+        assertSame(expected, thrown);
+    }
+
+    @Test
+    void exceptionOfActionIsWrapped() {
+        IllegalStateException cause = new IllegalStateException("boom");
+
+        AssertionError thrown = assertThrows(AssertionError.class, () -> budget.assertAtMost(1, () -> {
+            throw cause;
+        }));
+
+        assertSame(cause, thrown.getCause());
+    }
+
+    @Test
+    void tooManyStatementsFail() {
+        assertThrows(AssertionError.class, () -> budget.assertAtMost(1, () -> {
+            sqlStatementCounter.inspect("select 1");
+            return sqlStatementCounter.inspect("select 2");
+        }));
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.VirtualThreadConfig.CARRIER_PARALLELISM;
+
+public class VirtualThreadConfigTest {
+    private final VirtualThreadConfig config = new VirtualThreadConfig();
+
+    @Test
+    void customizerDoesNotSetCarrierParallelism() {
+        String before = System.getProperty(CARRIER_PARALLELISM);
+
+        config.virtualThreadProtocolHandlerCustomizer(1000);
+
+        assertEquals(before, System.getProperty(CARRIER_PARALLELISM));
+    }
+
+    @Test
+    void customizerKeepsTomcatPoolWithoutVirtualThreads() {
+        assumeTrue(VirtualThreadConfig.newVirtualThreadPerTaskExecutor() == null);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        customizer().customize(protocolHandler);
+
+        verify(protocolHandler, never()).setExecutor(any());
+    }
+
+    @Test
+    void customizerUsesVirtualThreadsWhenSupported() {
+        assumeTrue(VirtualThreadConfig.newVirtualThreadPerTaskExecutor() != null);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        customizer().customize(protocolHandler);
+
+        verify(protocolHandler).setExecutor(any());
+    }
+
+    @Test
+    void carrierParallelismDefaultsToProcessors() {
+        assumeTrue(System.getProperty(CARRIER_PARALLELISM) == null);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), VirtualThreadConfig.carrierParallelism());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TomcatProtocolHandlerCustomizer<ProtocolHandler> customizer() {
+        return (TomcatProtocolHandlerCustomizer<ProtocolHandler>) config.virtualThreadProtocolHandlerCustomizer(10);
+    }
+}
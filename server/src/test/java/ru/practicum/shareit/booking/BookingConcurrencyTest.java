@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.error.AlreadySetStatusException;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int CALLS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private User owner;
+    private Booking booking;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@concurrency.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booker@concurrency.ru"));
+        Item item = itemRepository.save(new Item(null, "car", "very fast", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking = bookingRepository.save(new Booking(null, start, start.plusDays(2), item, booker,
+                BookingState.WAITING, owner.getId(), 0));
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentApproveHasSingleWinner() throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger alreadySet = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                bookingService.updateState(owner.getId(), booking.getId(), true);
+                approved.incrementAndGet();
+            } catch (AlreadySetStatusException e) {
+                alreadySet.incrementAndGet();
+            }
+        });
+
+        Booking saved = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(1, approved.get());
+        assertEquals(THREADS - 1, alreadySet.get());
+        assertEquals(BookingState.APPROVED, saved.getStatus());
+        assertEquals(1, saved.getVersion());
+    }
+
+    @Test
+    void concurrentApproveAndRejectLoseNoUpdates() throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        runConcurrently(CALLS, i -> {
+            try {
+                bookingService.updateState(owner.getId(), booking.getId(), i % 2 == 0);
+                if (i % 2 == 0) {
+                    approved.incrementAndGet();
+                }
+            } catch (AlreadySetStatusException | ConcurrencyFailureException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        Booking saved = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertTrue(approved.get() > 0);
+        assertTrue(refused.get() > 0);
+        // every approval after the first needs a committed rejection in between
+        assertTrue(saved.getVersion() >= 2L * approved.get() - 1);
+        assertEquals(saved.getStatus() == BookingState.APPROVED, bookingIntervalIndex.overlaps(
+                booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    private void runConcurrently(int calls, IntConsumer call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                call.accept(n);
+                return null;
+            }));
+        }
+        startGate.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
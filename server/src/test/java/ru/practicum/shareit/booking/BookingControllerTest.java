@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.booking.dto.BookingUpdateDto;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 import ru.practicum.shareit.error.InvalidArgumentException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
@@ -26,9 +28,11 @@ import java.util.Collections;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -109,6 +113,68 @@ public class BookingControllerTest {
     }
 
 
+    @Test
+    void getAllByBookerIdAfterCursor() throws Exception {
+        when(bookingService.getAllByBookerIdAfter(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Collections.singletonList(bookingUpdateDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings").header("X-Sharer-User-Id", "1")
+                        .param("after", "2022-10-15T10:30:00,1")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"status\":\"WAITING\"}]"));
+
+        verify(bookingService, times(1))
+                .getAllByBookerIdAfter(eq(1L), eq(BookingSearchState.ALL), eq(new BookingCursor(start, 1L)), eq(5));
+        verify(bookingService, never()).getAllByBookerId(anyLong(), any(), any());
+    }
+
+    @Test
+    void getAllByBookerIdFullPageReturnsNextCursor() throws Exception {
+        when(bookingService.getAllByBookerIdAfter(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Collections.singletonList(bookingUpdateDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings").header("X-Sharer-User-Id", "1")
+                        .param("after", "2022-10-16T10:30:00,2")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingCursor.HEADER, "2022-10-15T10:30,1"));
+    }
+
+    @Test
+    void getAllByBookerIdLastPageHasNoNextCursor() throws Exception {
+        when(bookingService.getAllByBookerId(anyLong(), any(), any()))
+                .thenReturn(Collections.singletonList(bookingUpdateDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings").header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingCursor.HEADER));
+    }
+
+    @Test
+    void getAllByBookerIdInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings").header("X-Sharer-User-Id", "1")
+                        .param("after", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidArgumentException));
+    }
+
+    @Test
+    void getAllByOwnerIdAfterCursor() throws Exception {
+        when(bookingService.getAllByOwnerIdAfter(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Collections.singletonList(bookingUpdateDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner").header("X-Sharer-User-Id", "1")
+                        .param("state", "PAST")
+                        .param("after", "2022-10-15T10:30:00,1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"status\":\"WAITING\"}]"));
+
+        verify(bookingService, times(1))
+                .getAllByOwnerIdAfter(eq(1L), eq(BookingSearchState.PAST), eq(new BookingCursor(start, 1L)), eq(10));
+        verify(bookingService, never()).getAllByOwnerId(anyLong(), any(), any());
+    }
+
     @Test
     void getAllByOwnerId() throws Exception {
         int size = 10;
@@ -177,4 +243,16 @@ public class BookingControllerTest {
                 .updateState(eq(1L), eq(1L), anyBoolean());
     }
 
+    @Test
+    void updateStateOverlapsApprovedBooking() throws Exception {
+        when(bookingService.updateState(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("could not execute", new SQLException(
+                        "conflicting key value violates exclusion constraint \"bookings_no_overlap\"")));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/1")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("approved", "true"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{\"error\":\"Предмет уже забронирован на эти даты\"}", true));
+    }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.error.StatusElemException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BookingIntervalIndexTest {
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private User owner;
+    private User booker;
+    private Item item1;
+    private Item item2;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void beforeEach() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, true);
+
+        owner = new User(1L, "user1", "user1@mail.ru");
+        booker = new User(2L, "user2", "user2@mail.ru");
+        item1 = new Item(1L, "car", "very fast", true, owner, null);
+        item2 = new Item(2L, "ball", "round", true, owner, null);
+        start = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+        Booking approved = new Booking(1L, start, start.plusDays(2), item1, booker, BookingState.APPROVED, 1L, 0);
+        when(bookingRepository.findAllByStatus(eq(BookingState.APPROVED), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(approved)));
+        bookingIntervalIndex.rebuild();
+    }
+
+    @Test
+    void notReadyWhenDisabled() {
+        BookingIntervalIndex disabled = new BookingIntervalIndex(mock(BookingRepository.class), false);
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+        assertTrue(bookingIntervalIndex.isReady());
+    }
+
+    @Test
+    void overlaps() {
+        assertTrue(bookingIntervalIndex.overlaps(1L, start.plusDays(1), start.plusDays(3)));
+        assertTrue(bookingIntervalIndex.overlaps(1L, start.minusDays(1), start.plusHours(1)));
+        assertTrue(bookingIntervalIndex.overlaps(1L, start.plusHours(1), start.plusHours(2)));
+        assertFalse(bookingIntervalIndex.overlaps(1L, start.minusDays(2), start));
+        assertFalse(bookingIntervalIndex.overlaps(1L, start.plusDays(2), start.plusDays(3)));
+        assertFalse(bookingIntervalIndex.overlaps(2L, start, start.plusDays(2)));
+    }
+
+    @Test
+    void approveRejectsOverlap() {
+        Booking overlapping = new Booking(2L, start.plusDays(1), start.plusDays(3), item1, booker,
+                BookingState.WAITING, 1L, 0);
+
+        StatusElemException ex = assertThrows(StatusElemException.class,
+                () -> bookingIntervalIndex.approve(overlapping));
+        assertEquals("Предмет уже забронирован на эти даты", ex.getMessage());
+    }
+
+    @Test
+    void approveAdjacentAndOtherItem() {
+        bookingIntervalIndex.approve(new Booking(2L, start.plusDays(2), start.plusDays(4), item1, booker,
+                BookingState.WAITING, 1L, 0));
+        bookingIntervalIndex.approve(new Booking(3L, start, start.plusDays(2), item2, booker,
+                BookingState.WAITING, 1L, 0));
+
+        assertTrue(bookingIntervalIndex.overlaps(1L, start.plusDays(3), start.plusDays(5)));
+        assertTrue(bookingIntervalIndex.overlaps(2L, start.plusDays(1), start.plusDays(5)));
+    }
+
+    @Test
+    void releaseFreesInterval() {
+        Booking approved = new Booking(1L, start, start.plusDays(2), item1, booker, BookingState.APPROVED, 1L, 0);
+
+        bookingIntervalIndex.release(approved);
+
+        assertFalse(bookingIntervalIndex.overlaps(1L, start, start.plusDays(2)));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingQueryPlanTest {
+    private static final String SELECT = "select * from bookings b ";
+    private static final String NOW = "timestamp '2022-10-15 10:30:00'";
+
+    @Autowired
+    private Flyway flyway;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void beforeAll() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:plans;DB_CLOSE_DELAY=-1", "test", "test");
+        Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // H2 costs indexes by the committed row count, on a near-empty table it picks the single-column ones
+        jdbcTemplate.update("insert into users (name, email) select 'user' || x, 'user' || x || '@mail.ru' " +
+                "from system_range(1, 50)");
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) " +
+                "select 'item' || x, 'description', true, mod(x, 50) + 1 from system_range(1, 200)");
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "select dateadd(day, mod(x, 60) - 30, " + NOW + "), dateadd(day, mod(x, 60) - 28, " + NOW + "), " +
+                "mod(x, 200) + 1, mod(x * 7, 50) + 1, mod(mod(x, 200) + 1, 50) + 1, " +
+                "case mod(x, 4) when 0 then 'APPROVED' when 1 then 'REJECTED' when 2 then 'WAITING' " +
+                "else 'CANCELED' end from system_range(1, 10000)");
+    }
+
+    @Test
+    void bookerAll() {
+        String plan = explain("where b.booker_id = 1 order by b.start_date desc, b.id desc");
+        // On H2 the foreign key keeps this index, PostgreSQL drops it and uses bookings_booker_start_id_index
+        assertUsesIndex(plan, "FK_BOOKINGS_USERS_INDEX");
+    }
+
+    @Test
+    void bookerByStatus() {
+        String plan = explain("where b.booker_id = 1 and b.status = 'WAITING' order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_BOOKER_STATUS_START_INDEX");
+    }
+
+    @Test
+    void bookerFuture() {
+        String plan = explain("where b.booker_id = 1 and b.start_date > " + NOW + " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_BOOKER_START_ID_INDEX");
+    }
+
+    @Test
+    void bookerPast() {
+        String plan = explain("where b.booker_id = 1 and b.end_date < " + NOW + " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_BOOKER_END_INDEX");
+    }
+
+    @Test
+    void bookerCurrent() {
+        String plan = explain("where b.booker_id = 1 and b.start_date < " + NOW + " and b.end_date > " + NOW +
+                " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_BOOKER_START_ID_INDEX");
+    }
+
+    @Test
+    void ownerByStatus() {
+        String plan = explain("where b.owner_id = 1 and b.status = 'WAITING' order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_OWNER_STATUS_START_INDEX");
+    }
+
+    @Test
+    void ownerFuture() {
+        String plan = explain("where b.owner_id = 1 and b.start_date > " + NOW + " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_OWNER_START_ID_INDEX");
+    }
+
+    @Test
+    void ownerPast() {
+        String plan = explain("where b.owner_id = 1 and b.end_date < " + NOW + " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_OWNER_END_INDEX");
+    }
+
+    @Test
+    void ownerCurrent() {
+        String plan = explain("where b.owner_id = 1 and b.start_date < " + NOW + " and b.end_date > " + NOW +
+                " order by b.start_date desc");
+        assertUsesIndex(plan, "BOOKINGS_OWNER_START_ID_INDEX");
+    }
+
+    private String explain(String condition) {
+        return jdbcTemplate.queryForObject("explain " + SELECT + condition, String.class);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.contains("PUBLIC." + index + ":"), plan);
+    }
+}
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.PageRequestFrom;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.StatementBudget;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -22,9 +27,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
+@Import(StatementBudget.Config.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class BookingRepositoryTest {
     @Autowired
@@ -39,6 +47,12 @@ public class BookingRepositoryTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
     private LocalDateTime start1;
     private LocalDateTime end1;
     private User owner;
@@ -61,7 +75,7 @@ public class BookingRepositoryTest {
         item1Request = itemRequestRepository.save(item1Request);
         item1 = new Item(1L, "car", "very fast", true, owner, item1Request);
         item1 = itemRepository.save(item1);
-        booking1 = new Booking(1L, start1, end1, item1, booker, BookingState.WAITING);
+        booking1 = new Booking(1L, start1, end1, item1, booker, BookingState.WAITING, item1.getOwner().getId(), 0);
         booking1 = bookingRepository.save(booking1);
     }
 
@@ -87,9 +101,9 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc() {
+    void findTop2ByOwnerIdAndItem_IdOrderByStartAsc() {
         List<Booking> lsBooking =
-                bookingRepository.findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(item1.getOwner().getId(),
+                bookingRepository.findTop2ByOwnerIdAndItem_IdOrderByStartAsc(item1.getOwner().getId(),
                         item1.getId());
 
         assertNotNull(lsBooking);
@@ -107,6 +121,27 @@ public class BookingRepositoryTest {
         assertEquals(from.getBooker().getEmail(), booking1.getBooker().getEmail());
     }
 
+    @Test
+    void findTop2ByOwnerIdForEachItem() {
+        Item item2 = itemRepository.save(new Item(null, "bike", "slow", true, owner, null));
+        Booking booking2 = bookingRepository.save(new Booking(null, start1.plusDays(1), end1.plusDays(1), item1,
+                booker, BookingState.WAITING, item1.getOwner().getId(), 0));
+        bookingRepository.save(new Booking(null, start1.plusDays(2), end1.plusDays(2), item1, booker,
+                BookingState.WAITING, item1.getOwner().getId(), 0));
+        Booking booking4 = bookingRepository.save(new Booking(null, start1, end1, item2, booker,
+                BookingState.APPROVED, item2.getOwner().getId(), 0));
+
+        List<Booking> lsBooking =
+                bookingRepository.findTop2ByOwnerIdForEachItem(owner.getId(), List.of(item1.getId(), item2.getId()));
+
+        assertNotNull(lsBooking);
+        assertEquals(3, lsBooking.size());
+        assertEquals(booking1.getId(), lsBooking.get(0).getId());
+        assertEquals(booking2.getId(), lsBooking.get(1).getId());
+        assertEquals(booking4.getId(), lsBooking.get(2).getId());
+        assertEquals(booker.getId(), lsBooking.get(0).getBooker().getId());
+    }
+
     @Test
     void findAllByBooker_IdOrderByStartDesc() {
         List<Booking> lsBooking =
@@ -149,10 +184,10 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItem_Owner_Id() {
+    void findAllByOwnerId() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
         List<Booking> lsBooking =
-                bookingRepository.findAllByItem_Owner_Id(owner.getId(), pageRequest).toList();
+                bookingRepository.findAllByOwnerId(owner.getId(), pageRequest).toList();
 
         assertNotNull(lsBooking);
         assertEquals(1, lsBooking.size());
@@ -173,7 +208,7 @@ public class BookingRepositoryTest {
     void findAllByBooker_IdAndStatusIs() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
         List<Booking> lsBooking =
-                bookingRepository.findAllByItem_Owner_Id(owner.getId(), pageRequest).toList();
+                bookingRepository.findAllByOwnerId(owner.getId(), pageRequest).toList();
 
         assertNotNull(lsBooking);
         assertEquals(1, lsBooking.size());
@@ -192,10 +227,10 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItem_Owner_IdAndStatusIs() {
+    void findAllByOwnerIdAndStatusIs() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
         List<Booking> lsBooking =
-                bookingRepository.findAllByItem_Owner_IdAndStatusIs(owner.getId(),
+                bookingRepository.findAllByOwnerIdAndStatusIs(owner.getId(),
                         BookingState.WAITING, pageRequest).toList();
 
         assertNotNull(lsBooking);
@@ -238,11 +273,11 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItem_Owner_IdAndStartAfter() {
+    void findAllByOwnerIdAndStartAfter() {
         LocalDateTime ldt = LocalDateTime.now().minusDays(15);
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
         List<Booking> lsBooking =
-                bookingRepository.findAllByItem_Owner_IdAndStartAfter(owner.getId(), ldt, pageRequest).toList();
+                bookingRepository.findAllByOwnerIdAndStartAfter(owner.getId(), ldt, pageRequest).toList();
 
         assertNotNull(lsBooking);
         assertEquals(1, lsBooking.size());
@@ -284,11 +319,11 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItem_Owner_IdAndEndBefore() {
+    void findAllByOwnerIdAndEndBefore() {
         LocalDateTime ldt = LocalDateTime.now().plusDays(15);
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
         List<Booking> lsBooking =
-                bookingRepository.findAllByItem_Owner_IdAndEndBefore(owner.getId(), ldt, pageRequest).toList();
+                bookingRepository.findAllByOwnerIdAndEndBefore(owner.getId(), ldt, pageRequest).toList();
 
         assertNotNull(lsBooking);
         assertEquals(1, lsBooking.size());
@@ -352,6 +387,109 @@ public class BookingRepositoryTest {
         assertEquals(from.getStatus(), booking1.getStatus());
     }
 
+    @Test
+    void existsApprovedOverlap() {
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(item1.getId(),
+                BookingState.APPROVED, end1, start1));
+
+        booking1.setStatus(BookingState.APPROVED);
+        bookingRepository.save(booking1);
+
+        assertTrue(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(item1.getId(),
+                BookingState.APPROVED, end1.plusDays(1), end1.minusHours(1)));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(item1.getId(),
+                BookingState.APPROVED, end1.plusDays(1), end1));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(item1.getId(),
+                BookingState.APPROVED, end1, start1, booking1.getId()));
+    }
+
+    @Test
+    void findAllByBookerIdAfter() {
+        Booking booking2 = bookingRepository.save(new Booking(2L, start1.minusDays(3), end1.minusDays(3), item1,
+                booker, BookingState.APPROVED, item1.getOwner().getId(), 0));
+        Booking booking3 = bookingRepository.save(new Booking(3L, start1.minusDays(3), end1.minusDays(3), item1,
+                booker, BookingState.APPROVED, item1.getOwner().getId(), 0));
+        // Cursors must hold the start as stored, the column drops the sub-microsecond part of now()
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Booking> firstPage = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingSearchState.ALL,
+                LocalDateTime.now(), null, 2);
+        assertEquals(2, firstPage.size());
+        assertEquals(booking1.getId(), firstPage.get(0).getId());
+        assertEquals(booking3.getId(), firstPage.get(1).getId());
+
+        Booking last = firstPage.get(1);
+        List<Booking> secondPage = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingSearchState.ALL,
+                LocalDateTime.now(), new BookingCursor(last.getStart(), last.getId()), 2);
+        assertEquals(1, secondPage.size());
+        assertEquals(booking2.getId(), secondPage.get(0).getId());
+
+        List<Booking> waiting = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingSearchState.WAITING,
+                LocalDateTime.now(), null, 10);
+        assertEquals(1, waiting.size());
+        assertEquals(booking1.getId(), waiting.get(0).getId());
+    }
+
+    @Test
+    void findAllByOwnerIdAfter() {
+        Booking booking2 = bookingRepository.save(new Booking(2L, start1.minusDays(3), end1.minusDays(3), item1,
+                booker, BookingState.APPROVED, item1.getOwner().getId(), 0));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Booking stored = bookingRepository.findById(booking1.getId()).orElseThrow();
+
+        List<Booking> current = bookingRepository.findAllByOwnerIdAfter(owner.getId(), BookingSearchState.CURRENT,
+                LocalDateTime.now(), null, 10);
+        assertEquals(1, current.size());
+        assertEquals(booking1.getId(), current.get(0).getId());
+
+        List<Booking> afterFirst = bookingRepository.findAllByOwnerIdAfter(owner.getId(), BookingSearchState.ALL,
+                LocalDateTime.now(), new BookingCursor(stored.getStart(), stored.getId()), 10);
+        assertEquals(1, afterFirst.size());
+        assertEquals(booking2.getId(), afterFirst.get(0).getId());
+
+        List<Booking> foreign = bookingRepository.findAllByOwnerIdAfter(booker.getId(), BookingSearchState.ALL,
+                LocalDateTime.now(), null, 10);
+        assertEquals(0, foreign.size());
+    }
+
+    @Test
+    void findAllByBooker_IdFetchesItemAndBookerOnly() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.by("start").descending());
+        List<Booking> lsBooking = bookingRepository.findAllByBooker_Id(booker.getId(), pageRequest).toList();
+
+        assertEquals(1, lsBooking.size());
+        Booking from = lsBooking.get(0);
+        assertTrue(Hibernate.isInitialized(from.getItem()));
+        assertTrue(Hibernate.isInitialized(from.getBooker()));
+        assertFalse(Hibernate.isInitialized(from.getItem().getOwner()));
+        assertFalse(Hibernate.isInitialized(from.getItem().getRequest()));
+    }
+
+    @Test
+    void findAllByOwnerIdWithinStatementBudget() {
+        Item item2 = itemRepository.save(new Item(null, "bike", "slow", true, owner, null));
+        for (int i = 1; i <= 5; i++) {
+            bookingRepository.save(new Booking(null, start1.plusDays(i * 3), end1.plusDays(i * 3),
+                    i % 2 == 0 ? item1 : item2, booker, BookingState.APPROVED, owner.getId(), 0));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.by("start").descending());
+
+        List<Booking> lsBooking = new StatementBudget(sqlStatementCounter).assertAtMost(1, () -> {
+            List<Booking> bookings = bookingRepository.findAllByOwnerId(owner.getId(), pageRequest).toList();
+            bookings.forEach(booking -> booking.getItem().getName().length());
+            bookings.forEach(booking -> booking.getBooker().getName().length());
+            return bookings;
+        });
+
+        assertEquals(6, lsBooking.size());
+    }
+
 
     @AfterEach
     void afterEach() {
@@ -3,9 +3,12 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 import ru.practicum.shareit.PageRequestFrom;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingUpdateDto;
@@ -15,13 +18,16 @@ import ru.practicum.shareit.error.*;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -47,7 +53,8 @@ public class BookingServiceTest {
         userRepository = mock(UserRepository.class);
         itemRepository = mock(ItemRepository.class);
         bookingRepository = mock(BookingRepository.class);
-        bookingService = new BookingServiceImpl(userRepository, itemRepository, bookingRepository);
+        bookingService = new BookingServiceImpl(new UserLookup(userRepository, 100), itemRepository, bookingRepository,
+                new BookingIntervalIndex(bookingRepository, false), TransactionOperations.withoutTransaction());
 
         user2 = new User(2L, "user2", "user2@mail.ru");
         item2 = new Item(2L, "ball", "round object", true, user2, null);
@@ -55,8 +62,8 @@ public class BookingServiceTest {
 
         user1 = new User(1L, "user1", "user1@mail.ru");
         item1 = new Item(1L, "car", "very fast", true, user1, null);
-        booking1 = new Booking(1L, null, null, item1, user1, BookingState.WAITING);
-        booking12 = new Booking(2L, null, null, item2, user1, BookingState.WAITING);
+        booking1 = new Booking(1L, null, null, item1, user1, BookingState.WAITING, item1.getOwner().getId(), 0);
+        booking12 = new Booking(2L, null, null, item2, user1, BookingState.WAITING, item2.getOwner().getId(), 0);
         booking1Dto = new BookingDto(1L, 1L, null, null, BookingState.WAITING,
                 new BookingDto.UserBookingDto(1L, "user1", "user1@mail.ru"),
                 new BookingDto.ItemBookingDto(1L, "car", "very fast", true)
@@ -73,6 +80,8 @@ public class BookingServiceTest {
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findById(anyLong());
         verify(bookingRepository, Mockito.times(1)).save(any());
+        verify(bookingRepository, Mockito.times(1))
+                .save(argThat(booking -> user1.getId().equals(booking.getOwnerId())));
 
         assertNotNull(dtoFrom);
         assertEquals(booking1Dto.getId(), dtoFrom.getId());
@@ -86,6 +95,38 @@ public class BookingServiceTest {
         assertEquals(booking1Dto.getItem().getDescription(), dtoFrom.getItem().getDescription());
     }
 
+    @Test
+    void createOverlapsApproved() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto overlapping = new BookingDto(null, 1L, start, start.plusDays(2), null, null, null);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(1L, BookingState.APPROVED,
+                start.plusDays(2), start)).thenReturn(true);
+
+        StatusElemException ex = assertThrows(StatusElemException.class,
+                () -> bookingService.create(5L, overlapping));
+        assertEquals("Предмет уже забронирован на эти даты", ex.getMessage());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateStateApproveOverlapsApproved() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking1.setStart(start);
+        booking1.setEnd(start.plusDays(2));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking1));
+        when(bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(1L, BookingState.APPROVED,
+                start.plusDays(2), start, 1L)).thenReturn(true);
+
+        StatusElemException ex = assertThrows(StatusElemException.class,
+                () -> bookingService.updateState(1L, 1L, true));
+        assertEquals("Предмет уже забронирован на эти даты", ex.getMessage());
+        assertEquals(BookingState.WAITING, booking1.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void createNoSuchItem() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
@@ -142,7 +183,8 @@ public class BookingServiceTest {
 
     @Test
     void updateState() {
-        Booking booking1appr = new Booking(1L, null, null, item1, user1, BookingState.APPROVED);
+        Booking booking1appr = new Booking(1L, null, null, item1, user1, BookingState.APPROVED,
+                item1.getOwner().getId(), 0);
         BookingDto booking1DtoApr = new BookingDto(1L, 1L, null, null, BookingState.APPROVED,
                 new BookingDto.UserBookingDto(1L, "user1", "user1@mail.ru"),
                 new BookingDto.ItemBookingDto(1L, "car", "very fast", true)
@@ -175,6 +217,46 @@ public class BookingServiceTest {
         assertEquals(bookingUpdateDtoAppr.getItem().getDescription(), bookingUpdateDto.getItem().getDescription());
     }
 
+    @Test
+    void updateStateWaitingFastPath() {
+        booking1.setStatus(BookingState.REJECTED);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.updateStatusIfWaiting(1L, 1L, BookingState.REJECTED)).thenReturn(1);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking1));
+
+        BookingUpdateDto bookingUpdateDto = bookingService.updateState(1L, 1L, false);
+
+        assertEquals(BookingState.REJECTED, bookingUpdateDto.getStatus());
+        verify(bookingRepository, Mockito.times(1)).updateStatusIfWaiting(1L, 1L, BookingState.REJECTED);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateStateRetriesOptimisticLockFailure() {
+        booking1.setStatus(BookingState.APPROVED);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking1));
+        when(bookingRepository.save(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L))
+                .thenReturn(booking1);
+
+        BookingUpdateDto bookingUpdateDto = bookingService.updateState(1L, 1L, false);
+
+        assertEquals(BookingState.REJECTED, bookingUpdateDto.getStatus());
+        verify(bookingRepository, Mockito.times(2)).save(any());
+    }
+
+    @Test
+    void updateStateOptimisticLockFailureAttemptsExhausted() {
+        booking1.setStatus(BookingState.APPROVED);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking1));
+        when(bookingRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> bookingService.updateState(1L, 1L, false));
+        verify(bookingRepository, Mockito.times(3)).save(any());
+    }
+
     @Test
     void updateStateInvalidBookerEx() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
@@ -280,20 +362,20 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking12));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking12));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findFirstByOwner(any())).thenReturn(Optional.of(item2));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatusIs(anyLong(), any(), any())).thenReturn(pgBooking);
+        when(bookingRepository.findAllByOwnerIdAndStatusIs(anyLong(), any(), any())).thenReturn(pgBooking);
 
         List<BookingUpdateDto> bookingUpdateDtoList =
                 bookingService.getAllByOwnerId(2L, BookingSearchState.WAITING, pageRequest);
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findFirstByOwner(any());
         verify(bookingRepository, Mockito.times(1))
-                .findAllByItem_Owner_IdAndStatusIs(anyLong(), any(), any());
+                .findAllByOwnerIdAndStatusIs(anyLong(), any(), any());
         assertNotNull(bookingUpdateDtoList);
         assertEquals(1, bookingUpdateDtoList.size());
         BookingUpdateDto bookingUpdateDto = bookingUpdateDtoList.get(0);
@@ -318,20 +400,20 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking12));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking12));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findFirstByOwner(any())).thenReturn(Optional.of(item2));
-        when(bookingRepository.findAllByItem_Owner_IdAndStartAfter(anyLong(), any(), any())).thenReturn(pgBooking);
+        when(bookingRepository.findAllByOwnerIdAndStartAfter(anyLong(), any(), any())).thenReturn(pgBooking);
 
         List<BookingUpdateDto> bookingUpdateDtoList =
                 bookingService.getAllByOwnerId(2L, BookingSearchState.FUTURE, pageRequest);
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findFirstByOwner(any());
         verify(bookingRepository, Mockito.times(1))
-                .findAllByItem_Owner_IdAndStartAfter(anyLong(), any(), any());
+                .findAllByOwnerIdAndStartAfter(anyLong(), any(), any());
         assertNotNull(bookingUpdateDtoList);
         assertEquals(1, bookingUpdateDtoList.size());
         BookingUpdateDto bookingUpdateDto = bookingUpdateDtoList.get(0);
@@ -356,20 +438,20 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking12));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking12));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findFirstByOwner(any())).thenReturn(Optional.of(item2));
-        when(bookingRepository.findAllByItem_Owner_IdAndEndBefore(anyLong(), any(), any())).thenReturn(pgBooking);
+        when(bookingRepository.findAllByOwnerIdAndEndBefore(anyLong(), any(), any())).thenReturn(pgBooking);
 
         List<BookingUpdateDto> bookingUpdateDtoList =
                 bookingService.getAllByOwnerId(2L, BookingSearchState.PAST, pageRequest);
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findFirstByOwner(any());
         verify(bookingRepository, Mockito.times(1))
-                .findAllByItem_Owner_IdAndEndBefore(anyLong(), any(), any());
+                .findAllByOwnerIdAndEndBefore(anyLong(), any(), any());
         assertNotNull(bookingUpdateDtoList);
         assertEquals(1, bookingUpdateDtoList.size());
         BookingUpdateDto bookingUpdateDto = bookingUpdateDtoList.get(0);
@@ -394,7 +476,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking12));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking12));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -433,7 +515,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking1));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking1));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -468,7 +550,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking1));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking1));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -504,7 +586,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking1));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking1));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -540,7 +622,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking1));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking1));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -576,7 +658,7 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking1));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking1));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -612,19 +694,19 @@ public class BookingServiceTest {
                 null,
                 null
         );
-        PageImpl<Booking> pgBooking = new PageImpl<>(List.of(booking12));
+        SliceImpl<Booking> pgBooking = new SliceImpl<>(List.of(booking12));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findFirstByOwner(any())).thenReturn(Optional.of(item2));
-        when(bookingRepository.findAllByItem_Owner_Id(anyLong(), any())).thenReturn(pgBooking);
+        when(bookingRepository.findAllByOwnerId(anyLong(), any())).thenReturn(pgBooking);
 
         List<BookingUpdateDto> bookingUpdateDtoList =
                 bookingService.getAllByOwnerId(2L, BookingSearchState.ALL, pageRequest);
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findFirstByOwner(any());
-        verify(bookingRepository, Mockito.times(1)).findAllByItem_Owner_Id(anyLong(), any());
+        verify(bookingRepository, Mockito.times(1)).findAllByOwnerId(anyLong(), any());
         assertNotNull(bookingUpdateDtoList);
         assertEquals(1, bookingUpdateDtoList.size());
         BookingUpdateDto bookingUpdateDto = bookingUpdateDtoList.get(0);
@@ -637,4 +719,35 @@ public class BookingServiceTest {
         assertEquals(bookingUpdateDtoAppr.getItem().getAvailable(), bookingUpdateDto.getItem().getAvailable());
         assertEquals(bookingUpdateDtoAppr.getItem().getDescription(), bookingUpdateDto.getItem().getDescription());
     }
+
+    @Test
+    void getAllByBookerIdAfter() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2022, 10, 15, 10, 30), 5L);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findAllByBookerIdAfter(anyLong(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(booking1, booking12));
+
+        List<BookingUpdateDto> bookingUpdateDtoList =
+                bookingService.getAllByBookerIdAfter(1L, BookingSearchState.ALL, cursor, 2);
+
+        verify(bookingRepository, Mockito.times(1))
+                .findAllByBookerIdAfter(eq(1L), eq(BookingSearchState.ALL), any(), eq(cursor), eq(2));
+        verify(bookingRepository, never()).findAllByBooker_Id(anyLong(), any());
+        assertEquals(2, bookingUpdateDtoList.size());
+        assertEquals(booking1.getId(), bookingUpdateDtoList.get(0).getId());
+        assertEquals(booking12.getId(), bookingUpdateDtoList.get(1).getId());
+    }
+
+    @Test
+    void getAllByOwnerIdAfterNoSuchEx() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+
+        NoSuchElemException ex =
+                assertThrows(NoSuchElemException.class, () -> {
+                    bookingService.getAllByOwnerIdAfter(2L, BookingSearchState.ALL, null, 10);
+                });
+
+        assertEquals("У владельца 2 нет ни одного предмета", ex.getMessage());
+        verify(bookingRepository, never()).findAllByOwnerIdAfter(anyLong(), any(), any(), any(), anyInt());
+    }
 }
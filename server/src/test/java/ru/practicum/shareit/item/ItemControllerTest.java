@@ -22,6 +22,7 @@ import ru.practicum.shareit.item.interfaces.ItemService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -130,6 +131,28 @@ public class ItemControllerTest {
                 .create(eq(1L), any(ItemDto.class));
     }
 
+    @Test
+    void createAll() throws Exception {
+        ItemDto dto1 = new ItemDto(1L, "car", "very Fast", true, null);
+        ItemDto dto2 = new ItemDto(2L, "ball", "round", true, 3L);
+
+        when(itemService.createAll(anyLong(), anyList())).thenReturn(List.of(dto1, dto2));
+
+        List<ItemDto> body = List.of(new ItemDto(null, "car", "very Fast", true, null),
+                new ItemDto(null, "ball", "round", true, 3L));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body))
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"name\":\"car\"},{\"id\":2,\"name\":\"ball\"," +
+                        "\"requestId\":3}]"));
+
+        verify(itemService, times(1))
+                .createAll(eq(1L), argThat(dtos -> dtos.size() == 2));
+    }
+
     @Test
     void createComment() throws Exception {
         LocalDateTime time1 = LocalDateTime.of(2022, 10, 12, 15, 16);
@@ -1,14 +1,20 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 import ru.practicum.shareit.PageRequestFrom;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
@@ -17,14 +23,19 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = "shareit.hibernate-statistics.enabled=true")
 public class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
@@ -35,6 +46,9 @@ public class ItemRepositoryTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private User owner;
 
     private User requestor;
@@ -88,18 +102,61 @@ public class ItemRepositoryTest {
     @Test
     void search() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
-        List<Item> itemList = itemRepository.search("car", pageRequest).toList();
+        List<ItemDto> itemList = itemRepository.searchDtos("car", pageRequest).toList();
         assertNotNull(itemList);
         assertEquals(1, itemList.size());
-        Item iFrom = itemList.get(0);
+        ItemDto iFrom = itemList.get(0);
         assertEquals(item1.getId(), iFrom.getId());
-        assertEquals(item1.getOwner().getId(), iFrom.getOwner().getId());
-        assertEquals(item1.getOwner().getName(), iFrom.getOwner().getName());
-        assertEquals(item1.getOwner().getEmail(), iFrom.getOwner().getEmail());
+        assertEquals(item1.getName(), iFrom.getName());
         assertEquals(item1.getDescription(), iFrom.getDescription());
         assertEquals(item1.getAvailable(), iFrom.getAvailable());
     }
 
+    @Test
+    void searchRanksNameMatchesFirst() {
+        Item item2 = itemRepository.save(new Item(null, "bike", "faster than a car", true, owner, null));
+        Item item3 = itemRepository.save(new Item(null, "car seat", "soft", true, owner, null));
+        itemRepository.save(new Item(null, "ball", "car toy", false, owner, null));
+
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
+        List<ItemDto> itemList = itemRepository.searchDtos("CAR", pageRequest).toList();
+        assertNotNull(itemList);
+        assertEquals(3, itemList.size());
+        assertEquals(item1.getId(), itemList.get(0).getId());
+        assertEquals(item3.getId(), itemList.get(1).getId());
+        assertEquals(item2.getId(), itemList.get(2).getId());
+    }
+
+    @Test
+    void searchSliceHasNextWithoutCount() {
+        itemRepository.save(new Item(null, "car seat", "soft", true, owner, null));
+
+        Slice<ItemDto> first = itemRepository.searchDtos("car", new PageRequestFrom(1, 0, Sort.unsorted()));
+        assertEquals(1, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+
+        Slice<ItemDto> second = itemRepository.searchDtos("car", new PageRequestFrom(1, 1, Sort.unsorted()));
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void searchDtos() {
+        Item item2 = itemRepository.save(new Item(null, "bike", "faster than a car", true, owner, null));
+
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
+        List<ItemDto> dtos = itemRepository.searchDtos("car", pageRequest).toList();
+        assertEquals(2, dtos.size());
+        ItemDto dto = dtos.get(0);
+        assertEquals(item1.getId(), dto.getId());
+        assertEquals(item1.getName(), dto.getName());
+        assertEquals(item1.getDescription(), dto.getDescription());
+        assertEquals(item1.getAvailable(), dto.getAvailable());
+        assertEquals(item1Request.getId(), dto.getRequestId());
+        assertEquals(item2.getId(), dtos.get(1).getId());
+        assertNull(dtos.get(1).getRequestId());
+    }
+
     @Test
     void findAllByRequest_Id() {
         List<Item> itemsFrom = itemRepository.findAllByRequest_Id(item1Request.getId());
@@ -114,8 +171,42 @@ public class ItemRepositoryTest {
         assertEquals(item1.getAvailable(), iFrom.getAvailable());
     }
 
+    @Test
+    void findAllByRequest_IdIn() {
+        ItemRequest item2Request = itemRequestRepository.save(
+                new ItemRequest(null, "need a bike", requestor, LocalDateTime.now()));
+        Item item2 = itemRepository.save(new Item(null, "bike", "slow", true, owner, item2Request));
+        itemRepository.save(new Item(null, "ball", "round", true, owner, null));
+
+        List<Item> itemsFrom = itemRepository.findAllByRequest_IdIn(List.of(item1Request.getId(),
+                item2Request.getId()));
+        assertNotNull(itemsFrom);
+        assertEquals(2, itemsFrom.size());
+        assertEquals(true, itemsFrom.stream().anyMatch(item -> item.getId().equals(item1.getId())));
+        assertEquals(true, itemsFrom.stream().anyMatch(item -> item.getId().equals(item2.getId())));
+    }
+
     @AfterEach
     void afterEach() {
 
     }
+
+    @Test
+    void saveAllBatchesInserts() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new Item(null, "item" + i, "description" + i, true, owner, null));
+        }
+        testEntityManager.flush();
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        itemRepository.saveAll(items);
+        testEntityManager.flush();
+
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 3);
+    }
 }
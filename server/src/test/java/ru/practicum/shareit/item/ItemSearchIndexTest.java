@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.PageRequestFrom;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ItemSearchIndexTest {
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+
+    private User owner;
+    private Item item1;
+    private Item item2;
+    private Item item3;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository = mock(ItemRepository.class);
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+
+        owner = new User(1L, "user1", "user1@mail.ru");
+        ItemRequest request = new ItemRequest(7L, "need a car", owner, null);
+        item1 = new Item(1L, "Car", "very fast", true, owner, request);
+        item2 = new Item(2L, "bike", "faster than a car", true, owner, null);
+        item3 = new Item(3L, "ball", "car toy", false, owner, null);
+
+        when(itemRepository.findAllBy(any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(item3, item2, item1)));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void notReadyWhenDisabled() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+        disabled.rebuild();
+        disabled.index(item1);
+
+        assertFalse(disabled.isReady());
+        verify(itemRepository, times(1)).findAllBy(any(PageRequest.class));
+    }
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        assertTrue(itemSearchIndex.isReady());
+
+        List<ItemDto> dtos = itemSearchIndex.search("cAr", new PageRequestFrom(10, 0, Sort.unsorted()));
+        assertEquals(2, dtos.size());
+        assertEquals(item1.getId(), dtos.get(0).getId());
+        assertEquals(item1.getName(), dtos.get(0).getName());
+        assertEquals(7L, dtos.get(0).getRequestId());
+        assertEquals(item2.getId(), dtos.get(1).getId());
+        assertNull(dtos.get(1).getRequestId());
+    }
+
+    @Test
+    void searchShortText() {
+        List<ItemDto> dtos = itemSearchIndex.search("b", PageRequest.of(0, 10));
+        assertEquals(2, dtos.size());
+        assertEquals(item2.getId(), dtos.get(0).getId());
+        assertEquals(item3.getId(), dtos.get(1).getId());
+    }
+
+    @Test
+    void searchPage() {
+        List<ItemDto> dtos = itemSearchIndex.search("car", new PageRequestFrom(1, 1, Sort.unsorted()));
+        assertEquals(1, dtos.size());
+        assertEquals(item2.getId(), dtos.get(0).getId());
+
+        assertEquals(0, itemSearchIndex.search("car", new PageRequestFrom(10, 5, Sort.unsorted())).size());
+    }
+
+    @Test
+    void searchNoMatch() {
+        assertEquals(0, itemSearchIndex.search("plane", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void indexAppliesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(new Item(4L, "racing car", "red", true, owner, null));
+            assertEquals(2, itemSearchIndex.search("car", PageRequest.of(0, 10)).size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(3, itemSearchIndex.search("car", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void indexSkippedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(new Item(4L, "racing car", "red", true, owner, null));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, itemSearchIndex.search("car", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void indexUpdatesExistingItem() {
+        itemSearchIndex.index(new Item(1L, "Truck", "heavy", true, owner, null));
+        itemSearchIndex.index(new Item(4L, "racing car", "red", true, owner, null));
+
+        List<ItemDto> dtos = itemSearchIndex.search("car", PageRequest.of(0, 10));
+        assertEquals(2, dtos.size());
+        assertEquals(4L, dtos.get(0).getId());
+        assertEquals(item2.getId(), dtos.get(1).getId());
+
+        List<ItemDto> trucks = itemSearchIndex.search("truck", PageRequest.of(0, 10));
+        assertEquals(1, trucks.size());
+        assertEquals("Truck", trucks.get(0).getName());
+    }
+
+    @Test
+    void indexCompactsAfterManyUpdates() {
+        for (int i = 0; i < 3000; i++) {
+            itemSearchIndex.index(new Item(2L, "bike " + i, "faster than a car", true, owner, null));
+        }
+
+        List<ItemDto> dtos = itemSearchIndex.search("bike 2999", PageRequest.of(0, 10));
+        assertEquals(1, dtos.size());
+        assertEquals(item2.getId(), dtos.get(0).getId());
+        assertEquals(0, itemSearchIndex.search("bike 1000", PageRequest.of(0, 10)).size());
+        assertEquals(2, itemSearchIndex.search("car", PageRequest.of(0, 10)).size());
+    }
+}
@@ -3,9 +3,9 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.PageRequestFrom;
 import ru.practicum.shareit.booking.Booking;
@@ -24,6 +24,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.time.LocalDateTime;
@@ -31,9 +32,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -45,6 +48,7 @@ public class ItemServiceTest {
     private CommentRepository commentRepository;
 
     private ItemRequestRepository itemRequestRepository;
+    private ItemSearchIndex itemSearchIndex;
 
     private User user1;
     private Item item1;
@@ -62,15 +66,16 @@ public class ItemServiceTest {
         bookingRepository = mock(BookingRepository.class);
         commentRepository = mock(CommentRepository.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
-        itemService = new ItemServiceImpl(userRepository, itemRepository, bookingRepository, commentRepository,
-                itemRequestRepository);
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        itemService = new ItemServiceImpl(new UserLookup(userRepository, 100), itemRepository, bookingRepository,
+                commentRepository, itemRequestRepository, itemSearchIndex);
 
         user1 = new User(1L, "user1", "user1@mail.ru");
         item1 = new Item(1L, "car", "very fast", true, user1, null);
         item1Dto = new ItemDto(1L, "car", "very fast", true, null);
         item1InfoDto = new ItemInfoDto(1L, "car", "very fast", true,
                 null, null, new ArrayList<>());
-        booking1 = new Booking(1L, null, null, item1, user1, BookingState.WAITING);
+        booking1 = new Booking(1L, null, null, item1, user1, BookingState.WAITING, item1.getOwner().getId(), 0);
         comment1 = new Comment(1L, "nice thing!", user1, item1, null);
         item1Request = new ItemRequest(1L, "request1", null, LocalDateTime.now());
     }
@@ -138,6 +143,43 @@ public class ItemServiceTest {
         assertEquals("Нет такого запроса", ex.getMessage());
     }
 
+    @Test
+    void createAllResolvesRequestsInOneQuery() {
+        ItemDto item2Dto = new ItemDto(null, "ball", "round", true, 5L);
+        ItemDto item3Dto = new ItemDto(null, "bat", "wooden", true, 5L);
+        item1Request.setId(5L);
+
+        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(user1));
+        when(itemRequestRepository.findAllById(any())).thenReturn(List.of(item1Request));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ItemDto> dtos = itemService.createAll(1L, List.of(item1Dto, item2Dto, item3Dto));
+
+        assertEquals(3, dtos.size());
+        assertNull(dtos.get(0).getRequestId());
+        assertEquals(5L, dtos.get(1).getRequestId());
+        assertEquals(5L, dtos.get(2).getRequestId());
+        verify(userRepository, Mockito.times(1)).findById(anyLong());
+        verify(itemRequestRepository, Mockito.times(1)).findAllById(eq(Set.of(5L)));
+        verify(itemRequestRepository, never()).findById(anyLong());
+        verify(itemRepository, Mockito.times(1)).saveAll(anyList());
+        verify(itemRepository, never()).save(any());
+        verify(itemSearchIndex, Mockito.times(3)).index(any(Item.class));
+    }
+
+    @Test
+    void createAllUnknownRequest() {
+        ItemDto item2Dto = new ItemDto(null, "ball", "round", true, 5L);
+
+        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(user1));
+        when(itemRequestRepository.findAllById(any())).thenReturn(Collections.emptyList());
+
+        NoSuchElemException ex = assertThrows(NoSuchElemException.class,
+                () -> itemService.createAll(1L, List.of(item2Dto)));
+        assertEquals("Нет такого запроса", ex.getMessage());
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void update() {
         item1.setDescription("ball");
@@ -210,7 +252,7 @@ public class ItemServiceTest {
     void get() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
-        when(bookingRepository.findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(anyLong(), anyLong()))
+        when(bookingRepository.findTop2ByOwnerIdAndItem_IdOrderByStartAsc(anyLong(), anyLong()))
                 .thenReturn(new ArrayList<>());
         when(commentRepository.findAllByItem_Id(anyLong())).thenReturn(new ArrayList<>());
 
@@ -218,7 +260,7 @@ public class ItemServiceTest {
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findById(anyLong());
         verify(bookingRepository, Mockito.times(1))
-                .findTop2ByItem_Owner_IdAndItem_IdOrderByStartAsc(anyLong(), anyLong());
+                .findTop2ByOwnerIdAndItem_IdOrderByStartAsc(anyLong(), anyLong());
         verify(commentRepository, Mockito.times(1)).findAllByItem_Id(anyLong());
 
         assertEquals(itemInfoDto.getId(), item1InfoDto.getId());
@@ -230,14 +272,19 @@ public class ItemServiceTest {
     @Test
     void getAllItemsByUserID() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
-        Page<Item> pgItems = new PageImpl<>(Collections.singletonList(item1));
+        Slice<Item> pgItems = new SliceImpl<>(Collections.singletonList(item1));
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         when(itemRepository.findAllByOwner(any(), any())).thenReturn(pgItems);
+        when(commentRepository.findAllByItem_IdIn(any())).thenReturn(List.of(comment1));
 
         List<ItemInfoDto> itemInfoDtos = itemService.getAllItemsByUserID(1L, pageRequest);
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRepository, Mockito.times(1)).findAllByOwner(any(), any());
+        verify(bookingRepository, Mockito.times(1)).findTop2ByOwnerIdForEachItem(anyLong(), any());
+        verify(bookingRepository, Mockito.never())
+                .findTop2ByOwnerIdAndItem_IdOrderByStartAsc(anyLong(), anyLong());
+        verify(commentRepository, Mockito.times(1)).findAllByItem_IdIn(any());
         assertNotNull(itemInfoDtos);
         assertEquals(1, itemInfoDtos.size());
         ItemInfoDto itemInfoDtoFrom = itemInfoDtos.get(0);
@@ -245,17 +292,33 @@ public class ItemServiceTest {
         assertEquals(itemInfoDtoFrom.getName(), item1InfoDto.getName());
         assertEquals(itemInfoDtoFrom.getDescription(), item1InfoDto.getDescription());
         assertEquals(itemInfoDtoFrom.getAvailable(), item1InfoDto.getAvailable());
+        assertEquals(1, itemInfoDtoFrom.getComments().size());
+        assertEquals(comment1.getText(), itemInfoDtoFrom.getComments().get(0).getText());
+    }
+
+    @Test
+    void getAllItemsByUserIDEmptyPage() {
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findAllByOwner(any(), any())).thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        List<ItemInfoDto> itemInfoDtos = itemService.getAllItemsByUserID(1L, pageRequest);
+        verify(bookingRepository, Mockito.never()).findTop2ByOwnerIdForEachItem(anyLong(), any());
+        verify(commentRepository, Mockito.never()).findAllByItem_IdIn(any());
+        assertNotNull(itemInfoDtos);
+        assertEquals(0, itemInfoDtos.size());
     }
 
     @Test
     void search() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
-        Page<Item> pgItems = new PageImpl<>(Collections.singletonList(item1));
+        Slice<ItemDto> pgItems = new SliceImpl<>(Collections.singletonList(item1Dto));
 
-        when(itemRepository.search(anyString(), any())).thenReturn(pgItems);
+        when(itemRepository.searchDtos(anyString(), any())).thenReturn(pgItems);
 
         List<ItemDto> itemDtos = itemService.search("ca", pageRequest);
-        verify(itemRepository, Mockito.times(1)).search(any(), any());
+        verify(itemRepository, Mockito.times(1)).searchDtos(any(), any());
         assertNotNull(itemDtos);
         assertEquals(1, itemDtos.size());
         ItemDto itemDto = itemDtos.get(0);
@@ -265,6 +328,30 @@ public class ItemServiceTest {
         assertEquals(itemDto.getAvailable(), item1Dto.getAvailable());
     }
 
+    @Test
+    void searchFromIndexWhenReady() {
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search(anyString(), any())).thenReturn(List.of(item1Dto));
+
+        List<ItemDto> itemDtos = itemService.search("ca", pageRequest);
+        verify(itemSearchIndex, Mockito.times(1)).search(eq("ca"), any());
+        verify(itemRepository, Mockito.never()).searchDtos(any(), any());
+        assertEquals(1, itemDtos.size());
+        assertEquals(item1Dto.getId(), itemDtos.get(0).getId());
+    }
+
+    @Test
+    void createAndUpdateRefreshIndex() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
+        when(itemRepository.save(any())).thenReturn(item1);
+
+        itemService.create(1L, item1Dto);
+        itemService.update(1L, 1L, item1Dto);
+        verify(itemSearchIndex, Mockito.times(2)).index(item1);
+    }
+
     @Test
     void searchEmptyText() {
         PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.unsorted());
@@ -309,9 +396,9 @@ public class ItemServiceTest {
                 List.of(commentDto));
         Comment comment = new Comment(1L, "testText", user1, item1, commentDto.getCreated());
         Booking lsBooking = new Booking(1L, null, null, null,
-                new User(1L, "dsds", "dsd@mail.ru"), BookingState.WAITING);
+                new User(1L, "dsds", "dsd@mail.ru"), BookingState.WAITING, null, 0);
         Booking nxBooking = new Booking(2L, null, null, null,
-                new User(2L, "dsds", "dsd@mail.ru"), BookingState.WAITING);
+                new User(2L, "dsds", "dsd@mail.ru"), BookingState.WAITING, null, 0);
 
         ItemInfoDto response = ItemMapper.toItemInfoDto(item1, List.of(lsBooking, nxBooking),
                 List.of(comment));
@@ -3,8 +3,8 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.PageRequestFrom;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
@@ -14,6 +14,7 @@ import ru.practicum.shareit.request.dto.ItemRequestResponsesDto;
 import ru.practicum.shareit.request.interfaces.ItemRequestRepository;
 import ru.practicum.shareit.request.interfaces.ItemRequestService;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.util.ArrayList;
@@ -45,7 +46,8 @@ public class ItemRequestServiceTest {
         userRepository = mock(UserRepository.class);
         itemRepository = mock(ItemRepository.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
-        itemRequestService = new ItemRequestServiceImpl(userRepository, itemRepository, itemRequestRepository);
+        itemRequestService = new ItemRequestServiceImpl(new UserLookup(userRepository, 100), itemRepository,
+                itemRequestRepository);
 
         user1 = new User(1L, "user1", "user1@mail.ru");
         user2 = new User(2L, "user2", "user2@mail.ru");
@@ -81,6 +83,8 @@ public class ItemRequestServiceTest {
         verify(userRepository, Mockito.times(1)).findById(anyLong());
         verify(itemRequestRepository, Mockito.times(1))
                 .findAllByRequestor_IdOrderByCreatedDesc(anyLong());
+        verify(itemRepository, Mockito.times(1)).findAllByRequest_IdIn(any());
+        verify(itemRepository, Mockito.never()).findAllByRequest_Id(anyLong());
 
         assertNotNull(itemRequestResponsesDtos);
         assertEquals(1, itemRequestResponsesDtos.size());
@@ -106,7 +110,7 @@ public class ItemRequestServiceTest {
     @Test
     void getAll() {
 
-        PageImpl<ItemRequest> pgItemRequest = new PageImpl<>(List.of(item1Request));
+        SliceImpl<ItemRequest> pgItemRequest = new SliceImpl<>(List.of(item1Request));
         int size = 10;
         int from = 0;
         PageRequest pageRequest = new PageRequestFrom(size, from, Sort.by("start").descending());
@@ -124,6 +128,30 @@ public class ItemRequestServiceTest {
 
     }
 
+    @Test
+    void getAllFillsResponsesWithOneQuery() {
+        ItemRequest item2Request = new ItemRequest(2L, "need a bike", user1, null);
+        item1.setRequest(item1Request);
+        Item item2 = new Item(2L, "bike", "slow", true, user2, item2Request);
+        Item item3 = new Item(3L, "truck", "big", true, user2, item1Request);
+        SliceImpl<ItemRequest> pgItemRequest = new SliceImpl<>(List.of(item1Request, item2Request));
+        PageRequest pageRequest = new PageRequestFrom(10, 0, Sort.by("created").descending());
+
+        when(itemRequestRepository.findAllByRequestor_IdNot(anyLong(), any())).thenReturn(pgItemRequest);
+        when(itemRepository.findAllByRequest_IdIn(any())).thenReturn(List.of(item1, item2, item3));
+
+        List<ItemRequestResponsesDto> listFrom = itemRequestService.getAll(3L, pageRequest);
+        verify(itemRepository, Mockito.times(1)).findAllByRequest_IdIn(any());
+        verify(itemRepository, Mockito.never()).findAllByRequest_Id(anyLong());
+
+        assertEquals(2, listFrom.size());
+        assertEquals(2, listFrom.get(0).getItems().size());
+        assertEquals(item1.getId(), listFrom.get(0).getItems().get(0).getId());
+        assertEquals(item3.getId(), listFrom.get(0).getItems().get(1).getId());
+        assertEquals(1, listFrom.get(1).getItems().size());
+        assertEquals(item2.getId(), listFrom.get(1).getItems().get(0).getId());
+    }
+
     @Test
     void itemRequestMapperItemRequestResponsesDto() {
         item1.setRequest(item1Request);
@@ -7,11 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.user.interfaces.UserService;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -81,6 +83,22 @@ public class UserControllerTest {
         verify(userService, times(1)).create(any(UserDto.class));
     }
 
+    @Test
+    void createDuplicateEmail() throws Exception {
+        when(userService.create(any(UserDto.class))).thenThrow(new DataIntegrityViolationException("could not execute",
+                new SQLException("duplicate key value violates unique constraint \"uq_user_email\"\n" +
+                        "  Detail: Key (email)=(user1@mail.ru) already exists.")));
+        Map<String, String> body = new HashMap<>();
+        body.put("name", "user1");
+        body.put("email", "user1@mail.ru");
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{\"error\":\"Пользователь с таким email уже существует\"}", true));
+    }
+
     @Test
     void update() throws Exception {
         UserDto user1Dto = new UserDto(1L, "user1", "user1@mail.ru");
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class UserLookupDeletedUserTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createForUserDeletedElsewhere() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "owner@lookup.ru"));
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+        // Deleted behind UserServiceImpl's back, as another instance would, so the id stays cached here
+        userRepository.deleteById(owner.getId());
+
+        mvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"car\",\"description\":\"very fast\",\"available\":true}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Нет такого пользователя"));
+    }
+
+    @Test
+    void deleteUserWithItems() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "owner@lookup.ru"));
+        itemRepository.save(new Item(null, "car", "very fast", true, owner, null));
+
+        mvc.perform(delete("/users/" + owner.getId()))
+                .andExpect(status().isConflict());
+    }
+}
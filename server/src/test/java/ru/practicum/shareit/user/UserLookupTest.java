@@ -0,0 +1,99 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.error.NoSuchElemException;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class UserLookupTest {
+    private UserRepository userRepository;
+    private UserLookup userLookup;
+    private User user1;
+    private User user2;
+
+    @BeforeEach
+    void beforeEach() {
+        userRepository = mock(UserRepository.class);
+        userLookup = new UserLookup(userRepository, 1);
+        user1 = new User(1L, "user1", "user1@mail.ru");
+        user2 = new User(2L, "user2", "user2@mail.ru");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        when(userRepository.getReferenceById(1L)).thenReturn(user1);
+    }
+
+    @Test
+    void getByIdHitsRepositoryOnce() {
+        assertEquals(user1, userLookup.getById(1L));
+        assertEquals(user1, userLookup.getById(1L));
+
+        verify(userRepository, Mockito.times(1)).findById(1L);
+        verify(userRepository, Mockito.times(1)).getReferenceById(1L);
+    }
+
+    @Test
+    void ensureExistsHitsRepositoryOnce() {
+        userLookup.ensureExists(1L);
+        userLookup.ensureExists(1L);
+
+        verify(userRepository, Mockito.times(1)).findById(1L);
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void getByIdUnknownUser() {
+        when(userRepository.findById(100L)).thenReturn(Optional.empty());
+
+        NoSuchElemException ex = assertThrows(NoSuchElemException.class, () -> userLookup.getById(100L));
+        assertEquals("Нет такого пользователя", ex.getMessage());
+        assertThrows(NoSuchElemException.class, () -> userLookup.ensureExists(100L));
+        verify(userRepository, Mockito.times(2)).findById(100L);
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void evict() {
+        userLookup.getById(1L);
+        userLookup.evict(1L);
+        userLookup.getById(1L);
+
+        verify(userRepository, Mockito.times(2)).findById(1L);
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void evictAgainWhenTransactionEnds() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userLookup.evict(1L);
+            userLookup.ensureExists(1L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userLookup.ensureExists(1L);
+
+        verify(userRepository, Mockito.times(2)).findById(1L);
+    }
+
+    @Test
+    void leastRecentlyUsedIsDropped() {
+        userLookup.getById(1L);
+        userLookup.getById(2L);
+        userLookup.getById(1L);
+
+        verify(userRepository, Mockito.times(2)).findById(1L);
+        verify(userRepository, never()).getReferenceById(anyLong());
+    }
+}
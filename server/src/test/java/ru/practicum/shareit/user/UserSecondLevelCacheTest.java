@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: a READ_WRITE entry only becomes readable once the transaction that wrote it has committed
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "shareit.hibernate-statistics.enabled=true"
+})
+public class UserSecondLevelCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void secondFindIsServedFromCache() {
+        User user = userRepository.save(new User(null, "user1", "user1@mail.ru"));
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            User first = userRepository.findById(user.getId()).orElseThrow();
+            User second = userRepository.findById(user.getId()).orElseThrow();
+
+            assertEquals(first.getEmail(), second.getEmail());
+            assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+}
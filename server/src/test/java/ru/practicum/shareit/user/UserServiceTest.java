@@ -19,11 +19,13 @@ public class UserServiceTest {
 
     private UserService userService;
     private UserRepository userRepository;
+    private UserLookup userLookup;
 
     @BeforeEach
     void beforeEach() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        userLookup = mock(UserLookup.class);
+        userService = new UserServiceImpl(userRepository, userLookup);
     }
 
     @Test
@@ -91,6 +93,7 @@ public class UserServiceTest {
         UserDto userFrom = userService.update(user1Dto, 1L);
         verify(userRepository, Mockito.times(1)).save(any(User.class));
         verify(userRepository, Mockito.times(1)).findById(1L);
+        verify(userLookup, Mockito.times(1)).evict(1L);
         assertEquals(user1.getId(), userFrom.getId());
         assertEquals(user1.getName(), userFrom.getName());
         assertEquals(user1.getEmail(), userFrom.getEmail());
@@ -121,6 +124,7 @@ public class UserServiceTest {
         userService.delete(1L);
         verify(userRepository, Mockito.times(1)).findById(1L);
         verify(userRepository, Mockito.times(1)).delete(any(User.class));
+        verify(userLookup, Mockito.times(1)).evict(1L);
     }
 
     @Test